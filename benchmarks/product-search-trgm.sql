@@ -0,0 +1,63 @@
+-- Product name search on PostgreSQL: JPQL filter shape vs. the native pg_trgm query.
+-- Run against a scratch database migrated by the prod profile:
+--   psql -d inventorydb -f benchmarks/product-search-trgm.sql
+-- Compare execution time and shared buffers of the two EXPLAIN outputs at the end.
+
+\timing on
+
+BEGIN;
+
+INSERT INTO categories (id, name, description, created_at, updated_at)
+SELECT nextval('categories_seq'), 'bench-category-' || c, 'benchmark data', now(), now()
+FROM generate_series(1, 50) AS c;
+
+WITH bench_categories AS (
+    SELECT id, row_number() OVER (ORDER BY id) - 1 AS slot
+    FROM categories WHERE name LIKE 'bench-category-%'
+)
+INSERT INTO products (id, name, description, base_price, brand, category_id, version, created_at, updated_at)
+SELECT nextval('products_seq'),
+       'Product ' || md5(i::text) || ' model ' || i,
+       'benchmark data',
+       (i % 1000) + 0.99,
+       'brand-' || (i % 2000),
+       c.id,
+       0,
+       now() - (i || ' seconds')::interval,
+       now()
+FROM generate_series(1, 1000000) AS i
+JOIN bench_categories c ON c.slot = i % 50;
+
+COMMIT;
+
+ANALYZE products;
+
+-- Parameters as the JPQL summary query binds them; a generic plan cannot drop the IS NULL branches.
+SET plan_cache_mode = force_generic_plan;
+
+PREPARE jpql_search(text, bigint) AS
+SELECT p.id FROM products p
+WHERE ($1 IS NULL OR LOWER(p.name) LIKE LOWER('%' || $1 || '%') OR LOWER(p.brand) LIKE LOWER('%' || $1 || '%'))
+  AND ($2 IS NULL OR p.category_id = $2)
+ORDER BY p.created_at DESC, p.id DESC
+LIMIT 21;
+
+PREPARE native_search(text) AS
+SELECT p.id FROM products p
+WHERE (LOWER(p.name) LIKE $1 OR LOWER(p.brand) LIKE $1)
+ORDER BY p.created_at DESC, p.id DESC
+LIMIT 21 OFFSET 0;
+
+PREPARE jpql_count(text, bigint) AS
+SELECT COUNT(*) FROM products p
+WHERE ($1 IS NULL OR LOWER(p.name) LIKE LOWER('%' || $1 || '%') OR LOWER(p.brand) LIKE LOWER('%' || $1 || '%'))
+  AND ($2 IS NULL OR p.category_id = $2);
+
+PREPARE native_count(text) AS
+SELECT COUNT(*) FROM products p
+WHERE (LOWER(p.name) LIKE $1 OR LOWER(p.brand) LIKE $1);
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE jpql_search('5f3a9', NULL);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE native_search('%5f3a9%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE jpql_count('5f3a9', NULL);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE native_count('%5f3a9%');
@@ -0,0 +1,37 @@
+package com.ecommerce.inventory.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for rarely changing reference data. Evictions are deferred until the surrounding
+ * transaction commits so a concurrent reader cannot re-cache the pre-update row in between.
+ * Product listing pages get their own, shorter-lived cache; its keys carry the catalog version, so
+ * writes retire entries by bumping the version rather than by eviction.
+ * Hit/miss counts are published by actuator as {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_NAME = "categoriesByName";
+    public static final String PRODUCT_PAGES = "productPages";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${inventory.cache.categories.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec,
+            @Value("${inventory.cache.product-pages.spec:maximumSize=2000,expireAfterWrite=60s,recordStats}") String productPagesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATEGORIES, CATEGORIES_BY_NAME);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRODUCT_PAGES, Caffeine.from(productPagesSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
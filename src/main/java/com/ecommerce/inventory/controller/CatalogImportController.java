@@ -0,0 +1,51 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ApiResponse;
+import com.ecommerce.inventory.dto.ImportJobDto;
+import com.ecommerce.inventory.service.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Catalog import APIs")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/catalog", consumes = "text/csv")
+    @Operation(summary = "Import a catalog CSV",
+            description = "Queues an import of a CSV with one SKU per row; categories and products are created as needed")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import queued, poll the returned job"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty file or missing header columns")
+    })
+    public ResponseEntity<ApiResponse<ImportJobDto>> importCatalog(InputStream csv) throws IOException {
+        ImportJobDto job = catalogImportService.startImport(csv);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/imports/" + job.getId()))
+                .body(ApiResponse.success("Catalog import queued", job));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job", description = "Reports progress and per-row errors of an import")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved import job"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    public ResponseEntity<ApiResponse<ImportJobDto>> getImportJob(
+            @Parameter(description = "Import job ID") @PathVariable String id) {
+        ImportJobDto job = catalogImportService.getImportJob(id);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+}
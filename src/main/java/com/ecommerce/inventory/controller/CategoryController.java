@@ -11,8 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/categories")
@@ -23,10 +22,12 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    @Operation(summary = "Get all categories", description = "Retrieves a list of all categories")
+    @Operation(summary = "Get all categories", description = "Retrieves a paginated list of categories ordered by name")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved categories")
-    public ResponseEntity<ApiResponse<List<CategoryDto>>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.getAllCategories();
+    public ResponseEntity<ApiResponse<PagedResponse<CategoryDto>>> getAllCategories(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int pageSize) {
+        PagedResponse<CategoryDto> categories = categoryService.getAllCategories(page, pageSize);
         return ResponseEntity.ok(ApiResponse.success(categories));
     }
 
@@ -34,10 +35,15 @@ public class CategoryController {
     @Operation(summary = "Get category by ID", description = "Retrieves a category by its ID")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved category"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Category unchanged since If-None-Match / If-Modified-Since"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Category not found")
     })
     public ResponseEntity<ApiResponse<CategoryDto>> getCategoryById(
-            @Parameter(description = "Category ID") @PathVariable Long id) {
+            @Parameter(description = "Category ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        if (EntityTags.notModified(webRequest, categoryService.getCategoryStamp(id))) {
+            return null;
+        }
         CategoryDto category = categoryService.getCategoryById(id);
         return ResponseEntity.ok(ApiResponse.success(category));
     }
@@ -0,0 +1,87 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ResourceStamp;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+
+/**
+ * Maps entity versions to strong ETags ({@code "<version>"}) and back from {@code If-Match}.
+ * GET responses carry the composite tag of a {@link ResourceStamp} ({@code "<version>.<...>"}),
+ * whose leading part is the entity version, so it can be sent back in {@code If-Match} as well.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        return version != null ? builder.eTag("\"" + version + "\"") : builder;
+    }
+
+    /**
+     * Answers a conditional GET from the stamp alone. Returns {@code true} with the response already
+     * set to 304 when the client's copy is current; otherwise the ETag and Last-Modified headers are
+     * set and the caller writes the body.
+     */
+    static boolean notModified(WebRequest request, ResourceStamp stamp) {
+        return request.checkNotModified(quoted(stamp), lastModified(stamp));
+    }
+
+    /**
+     * Sets the ETag and Last-Modified headers from the stamp read with the body, replacing the ones
+     * {@link #notModified} set from the earlier stamp in case the resource changed in between.
+     */
+    static void describe(WebRequest request, ResourceStamp stamp) {
+        HttpServletResponse response = ((ServletWebRequest) request).getResponse();
+        if (response == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, quoted(stamp));
+        long lastModified = lastModified(stamp);
+        if (lastModified >= 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+    }
+
+    private static String quoted(ResourceStamp stamp) {
+        return "\"" + stamp.getEtag() + "\"";
+    }
+
+    private static long lastModified(ResourceStamp stamp) {
+        return stamp.getLastModified() != null
+                ? stamp.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header, or {@code null} when the header
+     * is absent or {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak entity tags cannot be used with If-Match");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int separator = tag.indexOf('.');
+        if (separator >= 0) {
+            tag = tag.substring(0, separator);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException(String.format("If-Match value %s does not match any version", ifMatch));
+        }
+    }
+}
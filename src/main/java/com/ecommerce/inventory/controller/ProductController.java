@@ -1,16 +1,25 @@
 package com.ecommerce.inventory.controller;
 
 import com.ecommerce.inventory.dto.*;
+import com.ecommerce.inventory.service.CatalogExportService;
+import com.ecommerce.inventory.service.OptimisticLockRetryPolicy;
 import com.ecommerce.inventory.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -18,7 +27,12 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Product", description = "Product management APIs")
 public class ProductController {
 
+    // A full export outlives the container's default async timeout; other async requests keep it.
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
     private final ProductService productService;
+    private final OptimisticLockRetryPolicy retryPolicy;
+    private final CatalogExportService catalogExportService;
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieves a paginated list of products with optional filtering")
@@ -27,21 +41,45 @@ public class ProductController {
             @Parameter(description = "Search by product name") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by category ID") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int pageSize) {
-        PagedResponse<ProductDto> products = productService.getAllProducts(name, categoryId, page, pageSize);
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Opaque cursor from a previous response's nextCursor; switches to keyset pagination and ignores page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "How totals are computed: none (hasNext only), estimated (cached count) or exact")
+            @RequestParam(defaultValue = "exact") String totals) {
+        PagedResponse<ProductDto> products = productService.getAllProducts(
+                name, categoryId, page, pageSize, cursor, TotalsMode.from(totals));
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export the catalog",
+            description = "Streams every product with its SKUs as NDJSON, one product per line, in product id order")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Catalog streamed")
+    public WebAsyncTask<Void> exportProducts(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(EXPORT_TIMEOUT.toMillis(), () -> {
+            catalogExportService.exportCatalog(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Retrieves a product by its ID")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved product"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Product unchanged since If-None-Match / If-Modified-Since"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
     })
     public ResponseEntity<ApiResponse<ProductDto>> getProductById(
-            @Parameter(description = "Product ID") @PathVariable Long id) {
-        ProductDto product = productService.getProductById(id);
-        return ResponseEntity.ok(ApiResponse.success(product));
+            @Parameter(description = "Product ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        if (EntityTags.notModified(webRequest, productService.getProductStamp(id))) {
+            return null;
+        }
+        Stamped<ProductDto> product = productService.getStampedProductById(id);
+        EntityTags.describe(webRequest, product.getStamp());
+        return ResponseEntity.ok(ApiResponse.success(product.getValue()));
     }
 
     @PostMapping
@@ -55,8 +93,7 @@ public class ProductController {
     public ResponseEntity<ApiResponse<ProductDto>> createProduct(
             @Valid @RequestBody CreateProductRequest request) {
         ProductDto createdProduct = productService.createProduct(request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
+        return EntityTags.withETag(ResponseEntity.status(HttpStatus.CREATED), createdProduct.getVersion())
                 .body(ApiResponse.success("Product created successfully", createdProduct));
     }
 
@@ -66,13 +103,20 @@ public class ProductController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or Category not found"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Product with this name already exists in the category")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Product with this name already exists in the category, or was modified concurrently"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Product version does not match If-Match")
     })
     public ResponseEntity<ApiResponse<ProductDto>> updateProduct(
             @Parameter(description = "Product ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated; without it the update is retried on concurrent modification")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProductRequest request) {
-        ProductDto updatedProduct = productService.updateProduct(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Product updated successfully", updatedProduct));
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        ProductDto updatedProduct = expectedVersion != null
+                ? productService.updateProduct(id, request, expectedVersion)
+                : retryPolicy.execute(() -> productService.updateProduct(id, request, null));
+        return EntityTags.withETag(ResponseEntity.ok(), updatedProduct.getVersion())
+                .body(ApiResponse.success("Product updated successfully", updatedProduct));
     }
 
     @DeleteMapping("/{id}")
@@ -1,17 +1,26 @@
 package com.ecommerce.inventory.controller;
 
 import com.ecommerce.inventory.dto.*;
+import com.ecommerce.inventory.service.OptimisticLockRetryPolicy;
+import com.ecommerce.inventory.service.ShardedStockService;
+import com.ecommerce.inventory.service.SkuIngestService;
 import com.ecommerce.inventory.service.SkuService;
+import com.ecommerce.inventory.service.StockAdjustmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,6 +30,10 @@ import java.util.List;
 public class SkuController {
 
     private final SkuService skuService;
+    private final SkuIngestService skuIngestService;
+    private final StockAdjustmentService stockAdjustmentService;
+    private final ShardedStockService shardedStockService;
+    private final OptimisticLockRetryPolicy retryPolicy;
 
     @GetMapping
     @Operation(summary = "Get all SKUs for a product", description = "Retrieves all SKUs belonging to a specific product")
@@ -38,11 +51,16 @@ public class SkuController {
     @Operation(summary = "Get SKU by ID", description = "Retrieves a specific SKU by its ID for a product")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved SKU"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "SKU unchanged since If-None-Match / If-Modified-Since"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found")
     })
     public ResponseEntity<ApiResponse<SkuDto>> getSkuById(
             @Parameter(description = "Product ID") @PathVariable Long productId,
-            @Parameter(description = "SKU ID") @PathVariable Long skuId) {
+            @Parameter(description = "SKU ID") @PathVariable Long skuId,
+            WebRequest webRequest) {
+        if (EntityTags.notModified(webRequest, skuService.getSkuStamp(productId, skuId))) {
+            return null;
+        }
         SkuDto sku = skuService.getSkuById(productId, skuId);
         return ResponseEntity.ok(ApiResponse.success(sku));
     }
@@ -59,25 +77,129 @@ public class SkuController {
             @Parameter(description = "Product ID") @PathVariable Long productId,
             @Valid @RequestBody CreateSkuRequest request) {
         SkuDto createdSku = skuService.createSku(productId, request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
+        return EntityTags.withETag(ResponseEntity.status(HttpStatus.CREATED), createdSku.getVersion())
                 .body(ApiResponse.success("SKU created successfully", createdSku));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create SKUs in bulk",
+            description = "Creates up to 5000 SKUs for a product in one request; existing or repeated SKU codes are reported per item")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Bulk request processed, see per-item results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "A SKU code was taken concurrently; nothing was created")
+    })
+    public ResponseEntity<ApiResponse<BulkSkuResult>> createSkus(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            @Valid @RequestBody BulkCreateSkuRequest request) {
+        BulkSkuResult result = skuService.createSkus(productId, request.getSkus());
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Bulk SKU creation completed: %d created, %d failed", result.getCreated(), result.getFailed()),
+                result));
+    }
+
+    @PostMapping(value = "/bulk/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create SKUs from a streamed array",
+            description = "Creates SKUs from a JSON array of any size, read and committed in batches; only failed items are listed")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Array processed, see counts and failed items"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Body is not a well-formed JSON array"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public ResponseEntity<ApiResponse<BulkSkuResult>> ingestSkus(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            InputStream body) throws IOException {
+        BulkSkuResult result = skuIngestService.ingestSkus(productId, body);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Streaming SKU creation completed: %d created, %d failed", result.getCreated(), result.getFailed()),
+                result));
+    }
+
     @PutMapping("/{skuId}")
     @Operation(summary = "Update a SKU", description = "Updates an existing SKU")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "SKU updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "SKU with this code already exists")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "SKU with this code already exists, or was modified concurrently"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "SKU version does not match If-Match")
     })
     public ResponseEntity<ApiResponse<SkuDto>> updateSku(
             @Parameter(description = "Product ID") @PathVariable Long productId,
             @Parameter(description = "SKU ID") @PathVariable Long skuId,
+            @Parameter(description = "ETag of the version being updated; without it the update is retried on concurrent modification")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateSkuRequest request) {
-        SkuDto updatedSku = skuService.updateSku(productId, skuId, request);
-        return ResponseEntity.ok(ApiResponse.success("SKU updated successfully", updatedSku));
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        SkuDto updatedSku = expectedVersion != null
+                ? skuService.updateSku(productId, skuId, request, expectedVersion)
+                : retryPolicy.execute(() -> skuService.updateSku(productId, skuId, request, null));
+        return EntityTags.withETag(ResponseEntity.ok(), updatedSku.getVersion())
+                .body(ApiResponse.success("SKU updated successfully", updatedSku));
+    }
+
+    @PostMapping("/{skuId}/stock/decrement")
+    @Operation(summary = "Decrement SKU stock",
+            description = "Atomically takes the given quantity from stock; fails without changing anything when not enough is available")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stock decremented, returns the new level"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Insufficient stock")
+    })
+    public ResponseEntity<ApiResponse<StockLevelDto>> decrementStock(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            @Parameter(description = "SKU ID") @PathVariable Long skuId,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        StockLevelDto stockLevel = stockAdjustmentService.decrementStock(productId, skuId, request.getQuantity());
+        return ResponseEntity.ok(ApiResponse.success("Stock decremented successfully", stockLevel));
+    }
+
+    @PostMapping("/{skuId}/stock/increment")
+    @Operation(summary = "Increment SKU stock", description = "Atomically adds the given quantity to stock")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stock incremented, returns the new level"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found")
+    })
+    public ResponseEntity<ApiResponse<StockLevelDto>> incrementStock(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            @Parameter(description = "SKU ID") @PathVariable Long skuId,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        StockLevelDto stockLevel = stockAdjustmentService.incrementStock(productId, skuId, request.getQuantity());
+        return ResponseEntity.ok(ApiResponse.success("Stock incremented successfully", stockLevel));
+    }
+
+    @PutMapping("/{skuId}/stock/shards")
+    @Operation(summary = "Shard SKU stock",
+            description = "Splits the SKU's stock across the given number of shards so concurrent stock updates do not queue on one row")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stock sharded"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input or SKU has reserved stock"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found")
+    })
+    public ResponseEntity<ApiResponse<SkuDto>> shardStock(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            @Parameter(description = "SKU ID") @PathVariable Long skuId,
+            @Valid @RequestBody ShardStockRequest request) {
+        SkuDto sku = shardedStockService.enableSharding(productId, skuId, request.getShardCount());
+        return EntityTags.withETag(ResponseEntity.ok(), sku.getVersion())
+                .body(ApiResponse.success("Stock sharded successfully", sku));
+    }
+
+    @DeleteMapping("/{skuId}/stock/shards")
+    @Operation(summary = "Unshard SKU stock", description = "Folds the SKU's stock shards back into a single quantity")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stock unsharded"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product or SKU not found")
+    })
+    public ResponseEntity<ApiResponse<SkuDto>> unshardStock(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            @Parameter(description = "SKU ID") @PathVariable Long skuId) {
+        SkuDto sku = shardedStockService.disableSharding(productId, skuId);
+        return EntityTags.withETag(ResponseEntity.ok(), sku.getVersion())
+                .body(ApiResponse.success("Stock unsharded successfully", sku));
     }
 
     @DeleteMapping("/{skuId}")
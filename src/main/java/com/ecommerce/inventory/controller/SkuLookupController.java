@@ -0,0 +1,49 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ApiResponse;
+import com.ecommerce.inventory.dto.SkuCodesRequest;
+import com.ecommerce.inventory.dto.SkuDto;
+import com.ecommerce.inventory.service.SkuService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/skus")
+@RequiredArgsConstructor
+@Tag(name = "SKU Lookup", description = "SKU lookup by code APIs")
+public class SkuLookupController {
+
+    private final SkuService skuService;
+
+    @GetMapping("/by-code/{skuCode}")
+    @Operation(summary = "Get SKU by code", description = "Retrieves a SKU by its code, without knowing its product")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved SKU"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "SKU not found")
+    })
+    public ResponseEntity<ApiResponse<SkuDto>> getSkuByCode(
+            @Parameter(description = "SKU code") @PathVariable String skuCode) {
+        SkuDto sku = skuService.getSkuByCode(skuCode);
+        return ResponseEntity.ok(ApiResponse.success(sku));
+    }
+
+    @PostMapping("/by-code")
+    @Operation(summary = "Get SKUs by code",
+            description = "Retrieves up to 1000 SKUs by code in request order; unknown codes are left out")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved SKUs"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<ApiResponse<List<SkuDto>>> getSkusByCodes(@Valid @RequestBody SkuCodesRequest request) {
+        List<SkuDto> skus = skuService.getSkusByCodes(request.getSkuCodes());
+        return ResponseEntity.ok(ApiResponse.success(skus));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ApiResponse;
+import com.ecommerce.inventory.dto.BatchStockRequest;
+import com.ecommerce.inventory.dto.StockLevelDto;
+import com.ecommerce.inventory.service.SkuService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/stock")
+@RequiredArgsConstructor
+@Tag(name = "Stock", description = "Multi-SKU stock APIs")
+public class StockController {
+
+    private final SkuService skuService;
+
+    @PostMapping("/decrement")
+    @Operation(summary = "Decrement stock for several SKUs",
+            description = "Takes stock for every (skuCode, quantity) line in one transaction; either all lines are applied or none")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stock decremented, returns the new levels"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "One or more SKUs not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Insufficient stock for one or more SKUs")
+    })
+    public ResponseEntity<ApiResponse<List<StockLevelDto>>> decrementStock(@Valid @RequestBody BatchStockRequest request) {
+        List<StockLevelDto> stockLevels = skuService.decrementStockBatch(request.getItems());
+        return ResponseEntity.ok(ApiResponse.success("Stock decremented successfully", stockLevels));
+    }
+}
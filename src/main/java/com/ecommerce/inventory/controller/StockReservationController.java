@@ -0,0 +1,96 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ApiResponse;
+import com.ecommerce.inventory.dto.BatchReservationRequest;
+import com.ecommerce.inventory.dto.CreateReservationRequest;
+import com.ecommerce.inventory.dto.ReservationDto;
+import com.ecommerce.inventory.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reservations")
+@RequiredArgsConstructor
+@Tag(name = "Reservation", description = "Stock reservation APIs")
+public class StockReservationController {
+
+    private final StockReservationService reservationService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get reservation by ID", description = "Retrieves a specific stock reservation by its ID")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved reservation"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ApiResponse<ReservationDto>> getReservationById(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        ReservationDto reservation = reservationService.getReservationById(id);
+        return ResponseEntity.ok(ApiResponse.success(reservation));
+    }
+
+    @PostMapping
+    @Operation(summary = "Reserve stock", description = "Holds stock of a SKU for a cart until it is confirmed, released or expires")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Stock reserved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "SKU not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Insufficient stock")
+    })
+    public ResponseEntity<ApiResponse<ReservationDto>> reserve(@Valid @RequestBody CreateReservationRequest request) {
+        ReservationDto reservation = reservationService.reserve(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Stock reserved successfully", reservation));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Reserve stock for a cart",
+            description = "Holds stock for every (skuCode, quantity) line in one transaction; either all lines are reserved or none")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Stock reserved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "One or more SKUs not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Insufficient stock for one or more SKUs")
+    })
+    public ResponseEntity<ApiResponse<List<ReservationDto>>> reserveBatch(@Valid @RequestBody BatchReservationRequest request) {
+        List<ReservationDto> reservations = reservationService.reserveBatch(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Stock reserved successfully", reservations));
+    }
+
+    @PostMapping("/{id}/confirm")
+    @Operation(summary = "Confirm a reservation", description = "Commits the reserved units, removing them from on-hand stock")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reservation confirmed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Reservation is no longer active"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ApiResponse<ReservationDto>> confirm(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        ReservationDto reservation = reservationService.confirm(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation confirmed successfully", reservation));
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release a reservation", description = "Returns the reserved units to available stock")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reservation released successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Reservation is no longer active"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ApiResponse<ReservationDto>> release(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        ReservationDto reservation = reservationService.release(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation released successfully", reservation));
+    }
+}
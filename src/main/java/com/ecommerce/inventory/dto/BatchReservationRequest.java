@@ -0,0 +1,26 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchReservationRequest {
+
+    @NotBlank(message = "Cart ID is required")
+    @Size(max = 100, message = "Cart ID cannot exceed 100 characters")
+    private String cartId;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @Max(value = 86400, message = "TTL cannot exceed 86400 seconds")
+    private Integer ttlSeconds;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 items")
+    private List<@Valid StockLineRequest> items;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchStockRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 items")
+    private List<@Valid StockLineRequest> items;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateSkuRequest {
+
+    @NotEmpty(message = "At least one SKU is required")
+    @Size(max = 5000, message = "A bulk request cannot contain more than 5000 SKUs")
+    private List<@Valid CreateSkuRequest> skus;
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkSkuItemResult {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+    private String skuCode;
+    private Status status;
+    private SkuDto sku;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkSkuResult {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<BulkSkuItemResult> results;
+    private boolean errorsTruncated;
+}
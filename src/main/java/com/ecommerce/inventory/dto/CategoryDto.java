@@ -13,6 +13,7 @@ public class CategoryDto {
     private String name;
     private String description;
     private Integer productCount;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
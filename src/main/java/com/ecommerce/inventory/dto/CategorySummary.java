@@ -0,0 +1,19 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategorySummary {
+    private Long id;
+    private String name;
+    private String description;
+    private Long productCount;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
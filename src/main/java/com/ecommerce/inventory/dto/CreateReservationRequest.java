@@ -0,0 +1,26 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateReservationRequest {
+
+    @NotNull(message = "SKU ID is required")
+    private Long skuId;
+
+    @NotBlank(message = "Cart ID is required")
+    @Size(max = 100, message = "Cart ID cannot exceed 100 characters")
+    private String cartId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @Max(value = 86400, message = "TTL cannot exceed 86400 seconds")
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobDto {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String id;
+    private Status status;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowError {
+    private long row;
+    private String skuCode;
+    private String error;
+}
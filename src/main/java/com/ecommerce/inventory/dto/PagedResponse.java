@@ -1,5 +1,6 @@
 package com.ecommerce.inventory.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -8,13 +9,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponse<T> {
     private List<T> content;
-    private int page;
+    private Integer page;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+    private TotalsMode totals;
+    private String nextCursor;
 }
-
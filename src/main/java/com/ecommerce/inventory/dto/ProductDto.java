@@ -18,6 +18,7 @@ public class ProductDto {
     private Long categoryId;
     private String categoryName;
     private Integer skuCount;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductExportDto {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal basePrice;
+    private String brand;
+    private Long categoryId;
+    private String categoryName;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @Builder.Default
+    private List<SkuDto> skus = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.inventory.dto;
+
+import com.ecommerce.inventory.entity.ReservationStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationDto {
+    private Long id;
+    private Long skuId;
+    private String cartId;
+    private Integer quantity;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
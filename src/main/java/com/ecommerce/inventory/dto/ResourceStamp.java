@@ -0,0 +1,45 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validators for a GET representation, read without loading the entity. The entity tag joins the
+ * entity's version with whatever else the representation shows (a parent's version, a child
+ * count), so it changes whenever the body would. The last modification is the latest
+ * {@code updatedAt} involved; it cannot see removed children, so the tag is the stronger check.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceStamp {
+    private String etag;
+    private LocalDateTime lastModified;
+
+    public ResourceStamp(Long version, Long related, LocalDateTime updatedAt, LocalDateTime relatedUpdatedAt) {
+        this(tag(version, related), latest(updatedAt, relatedUpdatedAt));
+    }
+
+    public ResourceStamp(Long version, Long related, Long childCount,
+                         LocalDateTime updatedAt, LocalDateTime relatedUpdatedAt, LocalDateTime childUpdatedAt) {
+        this(tag(version, related, childCount), latest(updatedAt, relatedUpdatedAt, childUpdatedAt));
+    }
+
+    private static String tag(Long... parts) {
+        return Stream.of(parts)
+                .map(part -> Objects.toString(part, "0"))
+                .collect(Collectors.joining("."));
+    }
+
+    private static LocalDateTime latest(LocalDateTime... timestamps) {
+        return Stream.of(timestamps)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
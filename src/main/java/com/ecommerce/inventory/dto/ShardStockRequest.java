@@ -0,0 +1,18 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardStockRequest {
+
+    @NotNull(message = "Shard count is required")
+    @Min(value = 1, message = "Shard count must be at least 1")
+    @Max(value = 64, message = "Shard count cannot exceed 64")
+    private Integer shardCount;
+}
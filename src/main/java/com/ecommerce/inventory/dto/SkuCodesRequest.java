@@ -0,0 +1,19 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkuCodesRequest {
+
+    @NotEmpty(message = "At least one SKU code is required")
+    @Size(max = 1000, message = "A lookup cannot contain more than 1000 SKU codes")
+    private List<@NotBlank(message = "SKU code is required") String> skuCodes;
+}
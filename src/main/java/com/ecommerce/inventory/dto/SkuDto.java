@@ -16,8 +16,11 @@ public class SkuDto {
     private String attributes;
     private BigDecimal price;
     private Integer quantity;
+    private Integer reservedQuantity;
+    private Integer shardCount;
     private Long productId;
     private String productName;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
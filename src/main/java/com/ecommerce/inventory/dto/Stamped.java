@@ -0,0 +1,14 @@
+package com.ecommerce.inventory.dto;
+
+import lombok.*;
+
+/**
+ * A representation together with the validators describing it, both taken from the same read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Stamped<T> {
+    private T value;
+    private ResourceStamp stamp;
+}
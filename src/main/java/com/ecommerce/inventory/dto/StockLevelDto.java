@@ -0,0 +1,16 @@
+package com.ecommerce.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockLevelDto {
+
+    private Long skuId;
+    private String skuCode;
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.inventory.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLineRequest {
+
+    @NotBlank(message = "SKU code is required")
+    private String skuCode;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 1000000, message = "Quantity cannot exceed 1000000")
+    private Integer quantity;
+}
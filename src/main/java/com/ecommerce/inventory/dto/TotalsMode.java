@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.dto;
+
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+public enum TotalsMode {
+    NONE,
+    ESTIMATED,
+    EXACT;
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static TotalsMode from(String value) {
+        for (TotalsMode mode : values()) {
+            if (mode.value().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new InvalidOperationException(
+                String.format("Invalid totals mode '%s'. Expected one of: none, estimated, exact", value));
+    }
+}
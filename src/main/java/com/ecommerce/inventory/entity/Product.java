@@ -11,7 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_products_category_created_at_id", columnList = "category_id, created_at DESC, id DESC")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_products_category_name", columnNames = {"category_id", "name"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +25,8 @@ import java.util.List;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -43,6 +49,9 @@ public class Product {
     @Builder.Default
     private List<Sku> skus = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,8 @@
+package com.ecommerce.inventory.entity;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "skus")
+@Table(name = "skus", indexes = {
+        @Index(name = "idx_skus_product_id_id", columnList = "product_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 public class Sku {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skus_seq")
+    @SequenceGenerator(name = "skus_seq", sequenceName = "skus_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -37,10 +40,25 @@ public class Sku {
     @Builder.Default
     private Integer quantity = 0;
 
+    @Column(name = "reserved_quantity", nullable = false)
+    @Builder.Default
+    private Integer reservedQuantity = 0;
+
+    /**
+     * Number of {@link SkuStockShard} buckets holding this SKU's stock, or 0 when stock lives in
+     * {@code quantity}. While sharded, {@code quantity} is the total as of the last rebalance.
+     */
+    @Column(name = "shard_count", nullable = false)
+    @Builder.Default
+    private Integer shardCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    @Version
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
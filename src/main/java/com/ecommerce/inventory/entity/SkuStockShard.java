@@ -0,0 +1,38 @@
+package com.ecommerce.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One bucket of a sharded SKU's on-hand stock. The SKU's stock is the sum of its shards.
+ */
+@Entity
+@Table(name = "sku_stock_shards", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sku_stock_shards_sku_shard", columnNames = {"sku_id", "shard_index"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkuStockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sku_stock_shards_seq")
+    @SequenceGenerator(name = "sku_stock_shards_seq", sequenceName = "sku_stock_shards_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sku_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Sku sku;
+
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer quantity = 0;
+}
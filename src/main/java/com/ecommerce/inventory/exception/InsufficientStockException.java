@@ -0,0 +1,18 @@
+package com.ecommerce.inventory.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public InsufficientStockException(Long skuId, int requested, int available) {
+        super(String.format("Insufficient stock for SKU id: %d - requested: %d, available: %d",
+                skuId, requested, available));
+    }
+
+    public InsufficientStockException(String skuCode, int requested, int available) {
+        super(String.format("Insufficient stock for SKU '%s' - requested: %d, available: %d",
+                skuCode, requested, available));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.inventory.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String resourceName, Object id, Long expectedVersion, Long currentVersion) {
+        super(String.format("%s with id: %s has version %d, but version %d was expected",
+                resourceName, id, currentVersion, expectedVersion));
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.inventory.mapper;
 
 import com.ecommerce.inventory.dto.CategoryDto;
+import com.ecommerce.inventory.dto.CategorySummary;
 import com.ecommerce.inventory.dto.CreateCategoryRequest;
 import com.ecommerce.inventory.entity.Category;
 import org.mapstruct.*;
@@ -11,8 +12,14 @@ public interface CategoryMapper {
     @Mapping(target = "productCount", expression = "java(category.getProducts() != null ? category.getProducts().size() : 0)")
     CategoryDto toDto(Category category);
 
+    CategoryDto toDto(CategorySummary summary);
+
+    @Mapping(target = "productCount", ignore = true)
+    CategoryDto toDtoWithoutProductCount(Category category);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Category toEntity(CreateCategoryRequest request);
@@ -20,6 +27,7 @@ public interface CategoryMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromRequest(@MappingTarget Category category, com.ecommerce.inventory.dto.UpdateCategoryRequest request);
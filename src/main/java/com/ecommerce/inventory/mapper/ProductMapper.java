@@ -2,6 +2,8 @@ package com.ecommerce.inventory.mapper;
 
 import com.ecommerce.inventory.dto.CreateProductRequest;
 import com.ecommerce.inventory.dto.ProductDto;
+import com.ecommerce.inventory.dto.ProductExportDto;
+import com.ecommerce.inventory.dto.ProductSummary;
 import com.ecommerce.inventory.entity.Product;
 import org.mapstruct.*;
 
@@ -13,9 +15,18 @@ public interface ProductMapper {
     @Mapping(target = "skuCount", expression = "java(product.getSkus() != null ? product.getSkus().size() : 0)")
     ProductDto toDto(Product product);
 
+    @Mapping(target = "version", ignore = true)
+    ProductDto toDto(ProductSummary summary);
+
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "categoryName", source = "category.name")
+    @Mapping(target = "skus", ignore = true)
+    ProductExportDto toExportDto(Product product);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "skus", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Product toEntity(CreateProductRequest request);
@@ -24,6 +35,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "skus", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromRequest(@MappingTarget Product product, com.ecommerce.inventory.dto.UpdateProductRequest request);
@@ -13,14 +13,20 @@ public interface SkuMapper {
     SkuDto toDto(Sku sku);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "reservedQuantity", ignore = true)
+    @Mapping(target = "shardCount", ignore = true)
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Sku toEntity(CreateSkuRequest request);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "reservedQuantity", ignore = true)
+    @Mapping(target = "shardCount", ignore = true)
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromRequest(@MappingTarget Sku sku, com.ecommerce.inventory.dto.UpdateSkuRequest request);
@@ -0,0 +1,13 @@
+package com.ecommerce.inventory.mapper;
+
+import com.ecommerce.inventory.dto.ReservationDto;
+import com.ecommerce.inventory.entity.StockReservation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface StockReservationMapper {
+
+    @Mapping(target = "skuId", source = "sku.id")
+    ReservationDto toDto(StockReservation reservation);
+}
@@ -1,7 +1,13 @@
 package com.ecommerce.inventory.repository;
 
+import com.ecommerce.inventory.dto.CategorySummary;
+import com.ecommerce.inventory.dto.ResourceStamp;
 import com.ecommerce.inventory.entity.Category;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,5 +20,25 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
 
     boolean existsByNameAndIdNot(String name, Long id);
-}
 
+    @Query(value = "SELECT new com.ecommerce.inventory.dto.CategorySummary(" +
+                   "c.id, c.name, c.description, COUNT(p), c.version, c.createdAt, c.updatedAt) " +
+                   "FROM Category c LEFT JOIN c.products p " +
+                   "GROUP BY c.id, c.name, c.description, c.version, c.createdAt, c.updatedAt",
+           countQuery = "SELECT COUNT(c) FROM Category c")
+    Page<CategorySummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.ecommerce.inventory.dto.CategorySummary(" +
+           "c.id, c.name, c.description, COUNT(p), c.version, c.createdAt, c.updatedAt) " +
+           "FROM Category c LEFT JOIN c.products p WHERE c.id = :id " +
+           "GROUP BY c.id, c.name, c.description, c.version, c.createdAt, c.updatedAt")
+    Optional<CategorySummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ResourceStamp(c.version, COUNT(p), c.updatedAt, MAX(p.updatedAt)) " +
+           "FROM Category c LEFT JOIN c.products p WHERE c.id = :id " +
+           "GROUP BY c.id, c.version, c.updatedAt")
+    Optional<ResourceStamp> findStampById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    long countProductsByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.inventory.repository;
+
+/**
+ * Escapes user input for use inside a {@code LIKE ... ESCAPE '\'} pattern, so that {@code %},
+ * {@code _} and {@code \} in a search term match themselves instead of acting as wildcards.
+ */
+public final class LikePatterns {
+
+    public static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    public static String escape(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
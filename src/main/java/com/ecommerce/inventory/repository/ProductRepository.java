@@ -1,16 +1,30 @@
 package com.ecommerce.inventory.repository;
 
+import com.ecommerce.inventory.dto.ProductSummary;
+import com.ecommerce.inventory.dto.ResourceStamp;
 import com.ecommerce.inventory.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
@@ -24,6 +38,105 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             Pageable pageable
     );
 
+    // In the listing filters below :name is matched with ESCAPE '\': pass it through LikePatterns.escape.
+    @Query(value = "SELECT new com.ecommerce.inventory.dto.ProductSummary(" +
+                   "p.id, p.name, p.description, p.basePrice, p.brand, c.id, c.name, " +
+                   "(SELECT COUNT(s) FROM Sku s WHERE s.product = p), p.createdAt, p.updatedAt) " +
+                   "FROM Product p JOIN p.category c WHERE " +
+                   "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+                   "OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') AND " +
+                   "(:categoryId IS NULL OR c.id = :categoryId)",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                        "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+                        "OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') AND " +
+                        "(:categoryId IS NULL OR p.category.id = :categoryId)")
+    Page<ProductSummary> findSummariesByFilters(
+            @Param("name") String name,
+            @Param("categoryId") Long categoryId,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ProductSummary(" +
+           "p.id, p.name, p.description, p.basePrice, p.brand, c.id, c.name, " +
+           "(SELECT COUNT(s) FROM Sku s WHERE s.product = p), p.createdAt, p.updatedAt) " +
+           "FROM Product p JOIN p.category c WHERE " +
+           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+           "OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') AND " +
+           "(:categoryId IS NULL OR c.id = :categoryId)")
+    Slice<ProductSummary> findSummarySliceByFilters(
+            @Param("name") String name,
+            @Param("categoryId") Long categoryId,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE " +
+           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+           "OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') AND " +
+           "(:categoryId IS NULL OR p.category.id = :categoryId)")
+    long countByFilters(@Param("name") String name, @Param("categoryId") Long categoryId);
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ProductSummary(" +
+           "p.id, p.name, p.description, p.basePrice, p.brand, c.id, c.name, " +
+           "(SELECT COUNT(s) FROM Sku s WHERE s.product = p), p.createdAt, p.updatedAt) " +
+           "FROM Product p JOIN p.category c WHERE " +
+           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+           "OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\') AND " +
+           "(:categoryId IS NULL OR c.id = :categoryId) AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummary> findSummariesAfter(
+            @Param("name") String name,
+            @Param("categoryId") Long categoryId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ProductSummary(" +
+           "p.id, p.name, p.description, p.basePrice, p.brand, c.id, c.name, " +
+           "(SELECT COUNT(s) FROM Sku s WHERE s.product = p), p.createdAt, p.updatedAt) " +
+           "FROM Product p JOIN p.category c WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ResourceStamp(" +
+           "p.version, c.version, (SELECT COUNT(s) FROM Sku s WHERE s.product = p), " +
+           "p.updatedAt, c.updatedAt, (SELECT MAX(s.updatedAt) FROM Sku s WHERE s.product = p)) " +
+           "FROM Product p JOIN p.category c WHERE p.id = :id")
+    Optional<ResourceStamp> findStampById(@Param("id") Long id);
+
+    /**
+     * The product with its category and SKUs in one query. Entities returned by a query are built
+     * from its rows rather than the second-level cache, so they show what {@link #findStampById}
+     * would describe at the same moment.
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category LEFT JOIN FETCH p.skus WHERE p.id = :id")
+    Optional<Product> findWithCategoryAndSkusById(@Param("id") Long id);
+
+    /**
+     * The product with its category, read by query for the same reason, for writes that check
+     * the version a client sent in {@code If-Match}.
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id = :id")
+    Optional<Product> findWithCategoryById(@Param("id") Long id);
+
+    /**
+     * Every product with each of its SKUs, one row per SKU (or a single row with a null SKU), in
+     * product id order. Rows are fetched in batches of {@value #EXPORT_FETCH_SIZE}, read-only and
+     * bypassing the second-level cache; the caller must consume the stream inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p, s FROM Product p JOIN FETCH p.category LEFT JOIN p.skus s ORDER BY p.id, s.id")
+    Stream<Object[]> streamCatalog();
+
+    @Query("SELECT p.id FROM Product p WHERE p.name = :name AND p.category.id = :categoryId")
+    Optional<Long> findIdByNameAndCategoryId(@Param("name") String name, @Param("categoryId") Long categoryId);
+
     boolean existsByNameAndCategoryId(String name, Long categoryId);
 
     boolean existsByNameAndCategoryIdAndIdNot(String name, Long categoryId, Long id);
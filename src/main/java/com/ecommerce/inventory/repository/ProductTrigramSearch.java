@@ -0,0 +1,83 @@
+package com.ecommerce.inventory.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Native PostgreSQL product name search backed by the pg_trgm GIN indexes on {@code lower(name)}
+ * and {@code lower(brand)} (migration V5). Unlike the JPQL filters, the SQL is built per call so the
+ * name condition is never wrapped in {@code :name IS NULL OR ...}, which keeps it indexable even
+ * under a generic prepared-statement plan. The search term is matched literally: LIKE wildcards in it
+ * are escaped.
+ * <p>
+ * Returns product ids in listing order (created_at DESC, id DESC); callers load the summaries.
+ */
+@Repository
+public class ProductTrigramSearch {
+
+    private static final String MATCH =
+            "(LOWER(p.name) LIKE :pattern ESCAPE '\\' OR LOWER(p.brand) LIKE :pattern ESCAPE '\\')";
+    private static final String IN_CATEGORY = " AND p.category_id = :categoryId";
+    private static final String AFTER =
+            " AND (p.created_at < :createdAt OR (p.created_at = :createdAt AND p.id < :id))";
+    private static final String ORDER_AND_LIMIT = " ORDER BY p.created_at DESC, p.id DESC LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public ProductTrigramSearch(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${inventory.search.trigram.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Long> findIds(String name, Long categoryId, int limit, long offset) {
+        MapSqlParameterSource params = params(name, categoryId)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.queryForList(
+                "SELECT p.id FROM products p WHERE " + MATCH + category(categoryId) + ORDER_AND_LIMIT,
+                params, Long.class);
+    }
+
+    public List<Long> findIdsAfter(String name, Long categoryId, LocalDateTime createdAt, Long id, int limit) {
+        MapSqlParameterSource params = params(name, categoryId)
+                .addValue("createdAt", createdAt)
+                .addValue("id", id)
+                .addValue("limit", limit)
+                .addValue("offset", 0);
+        return jdbcTemplate.queryForList(
+                "SELECT p.id FROM products p WHERE " + MATCH + category(categoryId) + AFTER + ORDER_AND_LIMIT,
+                params, Long.class);
+    }
+
+    public long count(String name, Long categoryId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products p WHERE " + MATCH + category(categoryId),
+                params(name, categoryId), Long.class);
+        return count != null ? count : 0;
+    }
+
+    private MapSqlParameterSource params(String name, Long categoryId) {
+        MapSqlParameterSource params = new MapSqlParameterSource(
+                "pattern", "%" + LikePatterns.escape(name.toLowerCase(Locale.ROOT)) + "%");
+        if (categoryId != null) {
+            params.addValue("categoryId", categoryId);
+        }
+        return params;
+    }
+
+    private String category(Long categoryId) {
+        return categoryId != null ? IN_CATEGORY : "";
+    }
+}
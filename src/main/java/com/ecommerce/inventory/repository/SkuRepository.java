@@ -1,25 +1,115 @@
 package com.ecommerce.inventory.repository;
 
+import com.ecommerce.inventory.dto.ResourceStamp;
 import com.ecommerce.inventory.entity.Sku;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SkuRepository extends JpaRepository<Sku, Long> {
 
-    List<Sku> findByProductId(Long productId);
+    @Query("SELECT s FROM Sku s JOIN FETCH s.product p WHERE p.id = :productId")
+    List<Sku> findByProductId(@Param("productId") Long productId);
 
     Optional<Sku> findBySkuCode(String skuCode);
 
+    @Query("SELECT s FROM Sku s JOIN FETCH s.product WHERE s.skuCode IN :skuCodes")
+    List<Sku> findAllBySkuCodeIn(@Param("skuCodes") Collection<String> skuCodes);
+
     boolean existsBySkuCode(String skuCode);
 
     boolean existsBySkuCodeAndIdNot(String skuCode, Long id);
 
-    Optional<Sku> findByIdAndProductId(Long id, Long productId);
+    @Query("SELECT s.skuCode FROM Sku s WHERE s.skuCode IN :skuCodes")
+    List<String> findExistingSkuCodes(@Param("skuCodes") Collection<String> skuCodes);
+
+    @Query("SELECT s FROM Sku s JOIN FETCH s.product WHERE s.id IN :ids")
+    List<Sku> findAllWithProductByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns {@code [id, skuCode]} for the SKUs that still exist among {@code ids}.
+     */
+    @Query("SELECT s.id, s.skuCode FROM Sku s WHERE s.id IN :ids")
+    List<Object[]> findCodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s FROM Sku s JOIN FETCH s.product p WHERE s.id = :id AND p.id = :productId")
+    Optional<Sku> findByIdAndProductId(@Param("id") Long id, @Param("productId") Long productId);
+
+    @Query("SELECT new com.ecommerce.inventory.dto.ResourceStamp(s.version, p.version, s.updatedAt, p.updatedAt) " +
+           "FROM Sku s JOIN s.product p WHERE s.id = :id AND p.id = :productId")
+    Optional<ResourceStamp> findStampByIdAndProductId(@Param("id") Long id, @Param("productId") Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sku s WHERE s.skuCode IN :skuCodes ORDER BY s.id")
+    List<Sku> findAllBySkuCodeForUpdate(@Param("skuCodes") Collection<String> skuCodes);
 
     void deleteByIdAndProductId(Long id, Long productId);
+
+    @Query("SELECT s.quantity FROM Sku s WHERE s.id = :id AND s.product.id = :productId")
+    Optional<Integer> findQuantityByIdAndProductId(@Param("id") Long id, @Param("productId") Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sku s WHERE s.id = :id AND s.product.id = :productId")
+    Optional<Sku> findByIdAndProductIdForUpdate(@Param("id") Long id, @Param("productId") Long productId);
+
+    @Query("SELECT s.id FROM Sku s WHERE s.shardCount > 0")
+    List<Long> findShardedSkuIds();
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.quantity = s.quantity - :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.product.id = :productId AND s.shardCount = 0 " +
+            "AND s.quantity - s.reservedQuantity >= :amount")
+    int decrementQuantity(@Param("id") Long id,
+                          @Param("productId") Long productId,
+                          @Param("amount") int amount,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.quantity = s.quantity + :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.product.id = :productId AND s.shardCount = 0")
+    int incrementQuantity(@Param("id") Long id,
+                          @Param("productId") Long productId,
+                          @Param("amount") int amount,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.quantity = s.quantity + :delta, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.product.id = :productId AND s.shardCount = 0 " +
+            "AND s.quantity - s.reservedQuantity + :delta >= 0")
+    int adjustQuantity(@Param("id") Long id,
+                       @Param("productId") Long productId,
+                       @Param("delta") int delta,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.reservedQuantity = s.reservedQuantity + :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.shardCount = 0 AND s.quantity - s.reservedQuantity >= :amount")
+    int reserveQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.reservedQuantity = s.reservedQuantity - :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.reservedQuantity >= :amount")
+    int releaseReservedQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.quantity = s.quantity - :amount, " +
+            "s.reservedQuantity = s.reservedQuantity - :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.reservedQuantity >= :amount")
+    int commitReservedQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sku s SET s.quantity = :total, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.shardCount > 0 AND s.quantity <> :total")
+    int refreshShardedQuantity(@Param("id") Long id, @Param("total") int total, @Param("now") LocalDateTime now);
 }
 
@@ -0,0 +1,39 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.SkuStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SkuStockShardRepository extends JpaRepository<SkuStockShard, Long> {
+
+    List<SkuStockShard> findBySkuIdOrderByShardIndex(Long skuId);
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM SkuStockShard s WHERE s.sku.id = :skuId")
+    long sumQuantityBySkuId(@Param("skuId") Long skuId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SkuStockShard s WHERE s.sku.id = :skuId ORDER BY s.shardIndex")
+    List<SkuStockShard> findAllBySkuIdForUpdate(@Param("skuId") Long skuId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SkuStockShard s SET s.quantity = s.quantity - :amount " +
+            "WHERE s.sku.id = :skuId AND s.shardIndex = :shardIndex AND s.quantity >= :amount")
+    int decrementQuantity(@Param("skuId") Long skuId,
+                          @Param("shardIndex") int shardIndex,
+                          @Param("amount") int amount);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SkuStockShard s SET s.quantity = s.quantity + :amount " +
+            "WHERE s.sku.id = :skuId AND s.shardIndex = :shardIndex")
+    int incrementQuantity(@Param("skuId") Long skuId,
+                          @Param("shardIndex") int shardIndex,
+                          @Param("amount") int amount);
+}
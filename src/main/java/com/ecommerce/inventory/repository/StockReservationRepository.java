@@ -0,0 +1,25 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.ReservationStatus;
+import com.ecommerce.inventory.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByStatus(ReservationStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") ReservationStatus from,
+                         @Param("to") ReservationStatus to,
+                         @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.ProductExportDto;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.mapper.ProductMapper;
+import com.ecommerce.inventory.mapper.SkuMapper;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog as NDJSON: one product per line, with its SKUs nested. Rows come
+ * from a forward-only cursor and the persistence context is cleared every
+ * {@link ProductRepository#EXPORT_FETCH_SIZE} products, so heap use does not grow with the
+ * catalog. The export reads one consistent snapshot as it runs in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CatalogExportService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final SkuMapper skuMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public long exportCatalog(OutputStream out) throws IOException {
+        log.info("Exporting catalog");
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<Object[]> rows = productRepository.streamCatalog();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            ProductExportDto current = null;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Product product = (Product) row[0];
+                Sku sku = (Sku) row[1];
+
+                if (current == null || !current.getId().equals(product.getId())) {
+                    if (current != null) {
+                        writeLine(writer, generator, current);
+                        if (++exported % ProductRepository.EXPORT_FETCH_SIZE == 0) {
+                            // The row just read stays usable detached; its fields are already loaded.
+                            entityManager.clear();
+                        }
+                    }
+                    current = productMapper.toExportDto(product);
+                }
+                if (sku != null) {
+                    current.getSkus().add(skuMapper.toDto(sku));
+                }
+            }
+
+            if (current != null) {
+                writeLine(writer, generator, current);
+                exported++;
+            }
+        }
+
+        log.info("Exported {} products", exported);
+        return exported;
+    }
+
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, ProductExportDto product) throws IOException {
+        writer.writeValue(generator, product);
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,491 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.CreateCategoryRequest;
+import com.ecommerce.inventory.dto.CreateProductRequest;
+import com.ecommerce.inventory.dto.CreateSkuRequest;
+import com.ecommerce.inventory.dto.ImportJobDto;
+import com.ecommerce.inventory.dto.ImportRowError;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.mapper.CategoryMapper;
+import com.ecommerce.inventory.mapper.ProductMapper;
+import com.ecommerce.inventory.mapper.SkuMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Imports supplier catalogs from CSV, one row per SKU. Categories are matched by name and products
+ * by name within their category; both are created when missing, and existing ones are reused
+ * unchanged. A row whose SKU code already exists is reported, not updated.
+ * <p>
+ * The upload is spooled to a temporary file and imported in the background. Rows are parsed one
+ * at a time and written in chunks of {@code chunk-size}, each in its own transaction with batched
+ * inserts, and the next chunk is read only once the previous one has committed, so a slow
+ * database holds back the reader instead of filling the heap. Invalid rows are reported and
+ * skipped. A chunk that fails to commit, say because another writer inserted one of its products
+ * or SKU codes first, is retried one row per transaction: the retry resolves categories and
+ * products afresh, picking up ones committed in the meantime, and only rows that still fail are
+ * reported.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    static final List<String> REQUIRED_COLUMNS =
+            List.of("category", "product_name", "brand", "base_price", "sku_code", "sku_name", "price");
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_CACHED_PRODUCTS = 10_000;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+    private final CategoryMapper categoryMapper;
+    private final ProductMapper productMapper;
+    private final SkuMapper skuMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public CatalogImportService(CategoryRepository categoryRepository,
+                                ProductRepository productRepository,
+                                SkuRepository skuRepository,
+                                CategoryMapper categoryMapper,
+                                ProductMapper productMapper,
+                                SkuMapper skuMapper,
+                                Validator validator,
+                                EntityManager entityManager,
+                                ProductSearchIndex productSearchIndex,
+                                CatalogVersion catalogVersion,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.import.chunk-size:1000}") int chunkSize,
+                                @Value("${inventory.import.threads:2}") int threads) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.skuRepository = skuRepository;
+        this.categoryMapper = categoryMapper;
+        this.productMapper = productMapper;
+        this.skuMapper = skuMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("catalog-import-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Spools {@code csv} to disk, checks its header and queues the import. The returned job id
+     * can be polled with {@link #getImportJob(String)}.
+     */
+    public ImportJobDto startImport(InputStream csv) throws IOException {
+        Path file = Files.createTempFile("catalog-import-", ".csv");
+        Map<String, Integer> columns;
+        try {
+            Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            columns = readHeader(file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        evictFinishedJobs();
+        log.info("Queued catalog import job: {}", job.id);
+
+        executor.execute(() -> run(job, file, columns));
+        return job.toDto();
+    }
+
+    public ImportJobDto getImportJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", id);
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Map<String, Integer> readHeader(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> header = new CsvReader(reader).next();
+            if (header == null) {
+                throw new InvalidOperationException("CSV file is empty");
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream()
+                    .filter(column -> !columns.containsKey(column))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new InvalidOperationException("CSV header is missing columns: " + String.join(", ", missing));
+            }
+            return columns;
+        }
+    }
+
+    private void run(ImportJob job, Path file, Map<String, Integer> columns) {
+        job.start();
+        log.info("Started catalog import job: {}", job.id);
+
+        Resolver resolver = new Resolver();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            csv.next();
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                chunk.add(new Row(csv.recordNumber(), fields, columns));
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, resolver);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, resolver);
+            }
+
+            job.complete();
+            ImportJobDto result = job.toDto();
+            log.info("Catalog import job: {} completed - imported: {}, failed: {}",
+                    job.id, result.getRowsImported(), result.getRowsFailed());
+        } catch (Exception ex) {
+            log.error("Catalog import job: {} failed", job.id, ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete import file: {}", file, ex);
+            }
+        }
+    }
+
+    private void importChunk(ImportJob job, List<Row> rows, Resolver resolver) {
+        try {
+            writeChunk(job, rows, resolver);
+        } catch (RuntimeException ex) {
+            log.warn("Catalog import job: {} rolled back rows {}-{}, retrying them one at a time", job.id,
+                    rows.get(0).number(), rows.get(rows.size() - 1).number(), ex);
+            resolver.rollback();
+            for (Row row : rows) {
+                try {
+                    writeChunk(job, List.of(row), resolver);
+                } catch (RuntimeException rowEx) {
+                    log.debug("Catalog import job: {} rolled back row {}", job.id, row.number(), rowEx);
+                    resolver.rollback();
+                    job.recordChunk(1, 0, List.of(new ImportRowError(
+                            row.number(), row.skuCode(), "Row rolled back: " + rowEx.getMessage())));
+                }
+            }
+        }
+    }
+
+    private void writeChunk(ImportJob job, List<Row> rows, Resolver resolver) {
+        List<ImportRowError> errors = new ArrayList<>();
+        Integer imported = transactionTemplate.execute(status -> {
+            Set<String> existingCodes = new HashSet<>(skuRepository.findExistingSkuCodes(rows.stream()
+                    .map(Row::skuCode)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet())));
+
+            int created = 0;
+            for (Row row : rows) {
+                try {
+                    importRow(row, existingCodes, resolver);
+                    created++;
+                } catch (RowException ex) {
+                    errors.add(new ImportRowError(row.number(), row.skuCode(), ex.getMessage()));
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+            catalogVersion.bumpAfterCommit();
+            return created;
+        });
+        resolver.commit();
+        job.recordChunk(rows.size(), imported, errors);
+    }
+
+    private void importRow(Row row, Set<String> existingCodes, Resolver resolver) {
+        CreateCategoryRequest categoryRequest = CreateCategoryRequest.builder()
+                .name(row.get("category"))
+                .build();
+        CreateProductRequest productRequest = CreateProductRequest.builder()
+                .name(row.get("product_name"))
+                .description(row.get("product_description"))
+                .basePrice(row.decimal("base_price"))
+                .brand(row.get("brand"))
+                .build();
+        CreateSkuRequest skuRequest = CreateSkuRequest.builder()
+                .skuCode(row.skuCode())
+                .name(row.get("sku_name"))
+                .attributes(row.get("attributes"))
+                .price(row.decimal("price"))
+                .quantity(row.integer("quantity", 0))
+                .build();
+
+        validate(categoryRequest);
+        validate(productRequest);
+        validate(skuRequest);
+        if (!existingCodes.add(skuRequest.getSkuCode())) {
+            throw new RowException(String.format("SKU already exists with skuCode: '%s'", skuRequest.getSkuCode()));
+        }
+
+        Long categoryId = resolver.categoryId(categoryRequest);
+        productRequest.setCategoryId(categoryId);
+        Long productId = resolver.productId(productRequest);
+
+        Sku sku = skuMapper.toEntity(skuRequest);
+        sku.setProduct(entityManager.getReference(Product.class, productId));
+        entityManager.persist(sku);
+    }
+
+    private void validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request).stream()
+                .filter(violation -> !violation.getPropertyPath().toString().equals("categoryId"))
+                .collect(Collectors.toSet());
+        if (!violations.isEmpty()) {
+            throw new RowException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparing(job -> job.createdAt))
+                .limit(jobs.size() - MAX_RETAINED_JOBS)
+                .toList()
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    /**
+     * Category and product ids seen by one import. Ids created in a chunk only become visible to
+     * later chunks once that chunk commits; products are kept most recently used first, as rows of
+     * the same product usually follow each other.
+     */
+    private final class Resolver {
+
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Map<ProductKey, Long> productIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProductKey, Long> eldest) {
+                return size() > MAX_CACHED_PRODUCTS;
+            }
+        };
+        private final Map<String, Long> pendingCategoryIds = new HashMap<>();
+        private final Map<ProductKey, Long> pendingProductIds = new HashMap<>();
+
+        Long categoryId(CreateCategoryRequest request) {
+            String name = request.getName();
+            Long id = categoryIds.containsKey(name) ? categoryIds.get(name) : pendingCategoryIds.get(name);
+            if (id == null) {
+                id = categoryRepository.findByName(name)
+                        .map(Category::getId)
+                        .orElseGet(() -> {
+                            Category category = categoryMapper.toEntity(request);
+                            entityManager.persist(category);
+                            return category.getId();
+                        });
+                pendingCategoryIds.put(name, id);
+            }
+            return id;
+        }
+
+        Long productId(CreateProductRequest request) {
+            ProductKey key = new ProductKey(request.getName(), request.getCategoryId());
+            Long id = productIds.containsKey(key) ? productIds.get(key) : pendingProductIds.get(key);
+            if (id == null) {
+                id = productRepository.findIdByNameAndCategoryId(key.name(), key.categoryId())
+                        .orElseGet(() -> {
+                            Product product = productMapper.toEntity(request);
+                            product.setCategory(entityManager.getReference(Category.class, key.categoryId()));
+                            entityManager.persist(product);
+                            productSearchIndex.indexAfterCommit(product);
+                            return product.getId();
+                        });
+                pendingProductIds.put(key, id);
+            }
+            return id;
+        }
+
+        void commit() {
+            categoryIds.putAll(pendingCategoryIds);
+            productIds.putAll(pendingProductIds);
+            rollback();
+        }
+
+        void rollback() {
+            pendingCategoryIds.clear();
+            pendingProductIds.clear();
+        }
+    }
+
+    private record ProductKey(String name, Long categoryId) {
+    }
+
+    private record Row(long number, List<String> fields, Map<String, Integer> columns) {
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String skuCode() {
+            return get("sku_code");
+        }
+
+        BigDecimal decimal(String column) {
+            String value = get(column);
+            try {
+                return value != null ? new BigDecimal(value) : null;
+            } catch (NumberFormatException ex) {
+                throw new RowException(String.format("Invalid %s: '%s'", column, value));
+            }
+        }
+
+        Integer integer(String column, int defaultValue) {
+            String value = get(column);
+            try {
+                return value != null ? Integer.valueOf(value) : defaultValue;
+            } catch (NumberFormatException ex) {
+                throw new RowException(String.format("Invalid %s: '%s'", column, value));
+            }
+        }
+    }
+
+    private static final class RowException extends RuntimeException {
+
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class ImportJob {
+
+        private final String id;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private ImportJobDto.Status status = ImportJobDto.Status.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String failureReason;
+        private long read;
+        private long imported;
+        private long failed;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        synchronized void start() {
+            status = ImportJobDto.Status.RUNNING;
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void recordChunk(int rows, int chunkImported, List<ImportRowError> chunkErrors) {
+            read += rows;
+            imported += chunkImported;
+            failed += chunkErrors.size();
+            for (ImportRowError error : chunkErrors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                } else {
+                    errorsTruncated = true;
+                }
+            }
+        }
+
+        synchronized void complete() {
+            status = ImportJobDto.Status.COMPLETED;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void fail(String reason) {
+            status = ImportJobDto.Status.FAILED;
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized ImportJobDto toDto() {
+            return ImportJobDto.builder()
+                    .id(id)
+                    .status(status)
+                    .rowsRead(read)
+                    .rowsImported(imported)
+                    .rowsFailed(failed)
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(errorsTruncated)
+                    .failureReason(failureReason)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
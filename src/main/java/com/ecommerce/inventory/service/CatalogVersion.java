@@ -0,0 +1,56 @@
+package com.ecommerce.inventory.service;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped whenever a product, SKU or category is written. Read-side caches put the version
+ * into their keys, so a single bump retires every entry cached before it without having to work
+ * out which listings a write touched.
+ * <p>
+ * The bump happens after commit: a reader that caches a page under the old version is never
+ * served again, while bumping earlier would let a reader cache pre-commit rows under the new one.
+ * Stock level changes don't bump the version; nothing keyed on it shows stock.
+ * <p>
+ * The counter lives in this instance only and only this instance's writes bump it. Writes made
+ * through other instances retire nothing here, so a cached page can lag them until it expires:
+ * the {@code expireAfterWrite} of {@code inventory.cache.product-pages.spec} (60s by default) is
+ * the staleness limit across instances and must stay short.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Cache key for {@code parts} as of the current version. Meant to be called from a
+     * {@code @Cacheable} key expression, which is evaluated before the cached method reads anything.
+     */
+    public Object keyOf(Object... parts) {
+        Object[] elements = new Object[parts.length + 1];
+        elements[0] = version.get();
+        System.arraycopy(parts, 0, elements, 1, parts.length);
+        return new SimpleKey(elements);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.inventory.service;
 
+import com.ecommerce.inventory.config.CacheConfig;
 import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.entity.Category;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
@@ -9,12 +10,16 @@ import com.ecommerce.inventory.mapper.CategoryMapper;
 import com.ecommerce.inventory.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,21 +28,41 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
-
-    public List<CategoryDto> getAllCategories() {
-        log.info("Fetching all categories");
-        return categoryRepository.findAll().stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList());
+    private final CatalogVersion catalogVersion;
+
+    public PagedResponse<CategoryDto> getAllCategories(int page, int pageSize) {
+        log.info("Fetching categories - page: {}, pageSize: {}", page, pageSize);
+
+        Pageable pageable = PageRequest.of(page, pageSize, Sort.by(Sort.Direction.ASC, "name"));
+        Page<CategorySummary> categoryPage = categoryRepository.findSummaries(pageable);
+
+        return PagedResponse.<CategoryDto>builder()
+                .content(categoryPage.getContent().stream()
+                        .map(categoryMapper::toDto)
+                        .toList())
+                .page(categoryPage.getNumber())
+                .pageSize(categoryPage.getSize())
+                .totalElements(categoryPage.getTotalElements())
+                .totalPages(categoryPage.getTotalPages())
+                .first(categoryPage.isFirst())
+                .last(categoryPage.isLast())
+                .build();
     }
 
     public CategoryDto getCategoryById(Long id) {
         log.info("Fetching category with id: {}", id);
-        Category category = findCategoryById(id);
-        return categoryMapper.toDto(category);
+        CategorySummary summary = categoryRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+        return categoryMapper.toDto(summary);
+    }
+
+    public ResourceStamp getCategoryStamp(Long id) {
+        return categoryRepository.findStampById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES_BY_NAME, key = "#request.name")
     public CategoryDto createCategory(CreateCategoryRequest request) {
         log.info("Creating new category with name: {}", request.getName());
 
@@ -47,16 +72,21 @@ public class CategoryService {
 
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        catalogVersion.bumpAfterCommit();
 
         log.info("Category created successfully with id: {}", savedCategory.getId());
         return categoryMapper.toDto(savedCategory);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES_BY_NAME, allEntries = true)
+    })
     public CategoryDto updateCategory(Long id, UpdateCategoryRequest request) {
         log.info("Updating category with id: {}", id);
 
-        Category category = findCategoryById(id);
+        Category category = loadCategory(id);
 
         if (request.getName() != null && !request.getName().equals(category.getName())) {
             if (categoryRepository.existsByNameAndIdNot(request.getName(), id)) {
@@ -66,28 +96,53 @@ public class CategoryService {
 
         categoryMapper.updateEntityFromRequest(category, request);
         Category updatedCategory = categoryRepository.save(category);
+        catalogVersion.bumpAfterCommit();
 
         log.info("Category updated successfully with id: {}", id);
         return categoryMapper.toDto(updatedCategory);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES_BY_NAME, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         log.info("Deleting category with id: {}", id);
 
-        Category category = findCategoryById(id);
+        Category category = loadCategory(id);
 
-        if (!category.getProducts().isEmpty()) {
+        long productCount = categoryRepository.countProductsByCategoryId(id);
+        if (productCount > 0) {
             throw new InvalidOperationException(
                     String.format("Cannot delete category '%s' as it has %d associated products",
-                            category.getName(), category.getProducts().size()));
+                            category.getName(), productCount));
         }
 
         categoryRepository.delete(category);
+        catalogVersion.bumpAfterCommit();
         log.info("Category deleted successfully with id: {}", id);
     }
 
-    public Category findCategoryById(Long id) {
+    /**
+     * Looks up a category for other services' reads and messages. Served from the category cache,
+     * which holds plain DTOs rather than entities, so the product count is not filled in. The cache
+     * is per instance and may outlive a category deleted elsewhere, so writes that attach a
+     * category must check it against the database instead.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
+    public CategoryDto findCategoryById(Long id) {
+        return categoryMapper.toDtoWithoutProductCount(loadCategory(id));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES_BY_NAME, key = "#name")
+    public CategoryDto findCategoryByName(String name) {
+        return categoryRepository.findByName(name)
+                .map(categoryMapper::toDtoWithoutProductCount)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "name", name));
+    }
+
+    private Category loadCategory(Long id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
     }
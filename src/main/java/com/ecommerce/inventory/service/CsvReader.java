@@ -0,0 +1,101 @@
+package com.ecommerce.inventory.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: returns one record at a time, so only the current record is held in
+ * memory. Fields may be quoted, with {@code ""} escaping a quote and line breaks allowed inside
+ * quotes; records end at LF or CRLF. The caller supplies a buffered reader.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+    private long recordNumber;
+    private int pushedBack = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record, or returns {@code null} at end of input. Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (fieldStarted || !field.isEmpty()) {
+                    fields.add(field.toString());
+                    recordNumber++;
+                    return fields;
+                }
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+        }
+        if (fieldStarted || !field.isEmpty()) {
+            fields.add(field.toString());
+            recordNumber++;
+            return fields;
+        }
+        return null;
+    }
+
+    /**
+     * Number of records returned so far, the header included.
+     */
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
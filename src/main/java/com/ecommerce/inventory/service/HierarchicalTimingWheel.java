@@ -0,0 +1,113 @@
+package com.ecommerce.inventory.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: level {@code k} has {@code wheelSize} slots that are each
+ * {@code tick * wheelSize^k} wide. Scheduling is O(1) and advancing costs one slot visit per
+ * tick, plus a re-hash of the entries in a higher level slot whenever the level below wraps.
+ * Deadlines beyond the top level's range are parked in it and re-hashed until they fit.
+ * <p>
+ * Not thread-safe; callers must synchronize.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<List<ArrayDeque<Entry<T>>>> levels;
+    private long currentTick;
+    private int size;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive, wheelSize at least 2 and levelCount at least 1");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slotTicks = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+
+        long width = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotTicks[level] = width;
+            List<ArrayDeque<Entry<T>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            levels.add(slots);
+            width = Math.multiplyExact(width, wheelSize);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to be returned by the first {@link #advance(long)} that reaches
+     * {@code deadlineMillis}. Deadlines that are already due fire on the next advance.
+     */
+    void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        insert(new Entry<>(item, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every item whose deadline has passed.
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            ArrayDeque<Entry<T>> slot = slot(0, currentTick);
+            while (!slot.isEmpty()) {
+                expired.add(slot.poll().item());
+            }
+        }
+
+        size -= expired.size();
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels.size(); level++) {
+            if (currentTick % slotTicks[level] != 0) {
+                return;
+            }
+            ArrayDeque<Entry<T>> slot = slot(level, currentTick);
+            List<Entry<T>> entries = new ArrayList<>(slot);
+            slot.clear();
+            entries.forEach(this::insert);
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        int level = 0;
+        while (level < levels.size() - 1 && delta >= slotTicks[level + 1]) {
+            level++;
+        }
+        // A cascaded entry that is due at the current tick lands in the level 0 slot being drained.
+        slot(level, entry.deadlineTick()).add(entry);
+    }
+
+    private ArrayDeque<Entry<T>> slot(int level, long tick) {
+        return levels.get(level).get((int) ((tick / slotTicks[level]) % wheelSize));
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.inventory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transactional call that lost an optimistic locking race. Each retry waits a random
+ * time up to an exponentially growing cap (full jitter) so colliding writers spread out instead
+ * of colliding again. The action must start its own transaction; retrying inside one is useless.
+ */
+@Component
+@Slf4j
+public class OptimisticLockRetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetryPolicy(@Value("${inventory.optimistic-lock.max-attempts:3}") int maxAttempts,
+                                     @Value("${inventory.optimistic-lock.base-backoff:10ms}") Duration baseBackoff,
+                                     @Value("${inventory.optimistic-lock.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                long backoff = backoffMillis(attempt);
+                log.debug("Optimistic locking conflict on attempt {}, retrying in {} ms", attempt, backoff);
+                sleep(backoff, ex);
+            }
+        }
+    }
+
+    long backoffMillis(int attempt) {
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+    }
+
+    private void sleep(long millis, OptimisticLockingFailureException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
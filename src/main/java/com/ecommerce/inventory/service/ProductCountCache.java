@@ -0,0 +1,66 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of product listing counts, used for {@code totals=estimated} so that
+ * repeated listings with the same filter do not re-run the COUNT on every page.
+ */
+@Component
+@Slf4j
+public class ProductCountCache {
+
+    private final ProductRepository productRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public ProductCountCache(ProductRepository productRepository,
+                             @Value("${inventory.pagination.estimated-count.ttl:30s}") Duration ttl,
+                             @Value("${inventory.pagination.estimated-count.max-entries:10000}") int maxEntries) {
+        this.productRepository = productRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long estimate(String name, Long categoryId) {
+        return estimate(name, categoryId, () -> productRepository.countByFilters(name, categoryId));
+    }
+
+    /**
+     * Same as {@link #estimate(String, Long)}, counting with {@code counter} on a miss; for
+     * searches that match the same rows as the listing filters by other means.
+     */
+    public long estimate(String name, Long categoryId, LongSupplier counter) {
+        Key key = new Key(name != null ? name.toLowerCase(Locale.ROOT) : null, categoryId);
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return entry.count();
+        }
+
+        long count = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            log.debug("Product count cache reached {} entries, clearing", maxEntries);
+            entries.clear();
+        }
+        entries.put(key, new Entry(count, now));
+        return count;
+    }
+
+    private record Key(String name, Long categoryId) {
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over product names and brands. A substring search looks up the posting
+ * list of each trigram of the query, walks the shortest one and verifies the candidates, instead
+ * of running {@code LIKE '%x%'} against every row of the products table.
+ * <p>
+ * The index is built from the table on startup and kept current by {@link ProductService}; changes
+ * are applied once their transaction commits. Until the build finishes, and for queries shorter
+ * than a trigram, {@link #search} returns empty and callers fall back to the database.
+ * <p>
+ * Only this instance's own writes reach the index, so it is opt-in and meant for single-instance
+ * deployments; with several instances, use the database or the {@code pg_trgm} search. A document
+ * never replaces a newer version of the same product, and products deleted while the index is
+ * being built are not added back by the build.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private static final Comparator<Match> NEWEST_FIRST = Comparator.comparing(Match::createdAt)
+            .thenComparing(Match::id)
+            .reversed();
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${inventory.search.index.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            batch.stream()
+                    .filter(product -> !removedDuringBuild.contains(product.getId()))
+                    .forEach(this::put);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        ready = true;
+        removedDuringBuild.clear();
+        log.info("Product search index built with {} products and {} trigrams in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Returns the products whose name or brand contains {@code query}, newest first, or empty when
+     * the index cannot answer the query.
+     */
+    public Optional<List<Match>> search(String query, Long categoryId) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        if (!ready || needle.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        Set<Long> shortest = null;
+        for (String gram : grams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Optional.of(List.of());
+            }
+            if (shortest == null || ids.size() < shortest.size()) {
+                shortest = ids;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Long id : shortest) {
+            Document document = documents.get(id);
+            if (document != null && document.matches(needle, categoryId)) {
+                matches.add(new Match(id, document.createdAt()));
+            }
+        }
+        matches.sort(NEWEST_FIRST);
+        return Optional.of(matches);
+    }
+
+    public void indexAfterCommit(Product product) {
+        if (enabled) {
+            afterCommit(() -> put(product));
+        }
+    }
+
+    public void removeAfterCommit(Long id) {
+        if (enabled) {
+            afterCommit(() -> remove(id));
+        }
+    }
+
+    void put(Product product) {
+        Document document = new Document(
+                product.getName().toLowerCase(Locale.ROOT),
+                product.getBrand().toLowerCase(Locale.ROOT),
+                product.getCategory().getId(),
+                product.getCreatedAt(),
+                product.getVersion());
+        documents.compute(product.getId(), (id, previous) -> {
+            if (previous != null && previous.isNewerThan(document)) {
+                return previous;
+            }
+            if (previous != null) {
+                removePostings(id, previous);
+            }
+            document.grams().forEach(gram -> postings.compute(gram, (key, ids) -> {
+                Set<Long> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                updated.add(id);
+                return updated;
+            }));
+            return document;
+        });
+    }
+
+    void remove(Long id) {
+        if (!ready) {
+            removedDuringBuild.add(id);
+        }
+        documents.computeIfPresent(id, (key, previous) -> {
+            removePostings(key, previous);
+            return null;
+        });
+    }
+
+    private void removePostings(Long id, Document document) {
+        for (String gram : document.grams()) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Match(Long id, LocalDateTime createdAt) {
+    }
+
+    private record Document(String name, String brand, Long categoryId, LocalDateTime createdAt, Long version) {
+
+        boolean isNewerThan(Document other) {
+            return version != null && other.version != null && version > other.version;
+        }
+
+        boolean matches(String needle, Long categoryFilter) {
+            return (categoryFilter == null || categoryFilter.equals(categoryId))
+                    && (name.contains(needle) || brand.contains(needle));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ProductSearchIndex.grams(name);
+            grams.addAll(ProductSearchIndex.grams(brand));
+            return grams;
+        }
+    }
+}
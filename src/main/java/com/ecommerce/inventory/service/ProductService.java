@@ -1,21 +1,34 @@
 package com.ecommerce.inventory.service;
 
+import com.ecommerce.inventory.config.CacheConfig;
 import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.entity.Category;
 import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
 import com.ecommerce.inventory.mapper.ProductMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.LikePatterns;
 import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.ProductTrigramSearch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -25,52 +38,123 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final CategoryService categoryService;
+    private final CategoryRepository categoryRepository;
+    private final ProductCountCache productCountCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductTrigramSearch productTrigramSearch;
+    private final CatalogVersion catalogVersion;
+
+    /**
+     * Offset pages are cached per catalog version, so a popular listing costs neither the page
+     * query nor its COUNT until the next product, SKU or category write. Cursor pages are not
+     * cached: each cursor is requested by one client walking the listing.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES,
+            key = "@catalogVersion.keyOf(#name, #categoryId, #page, #pageSize, #totals)",
+            condition = "#cursor == null")
+    public PagedResponse<ProductDto> getAllProducts(String name, Long categoryId, int page, int pageSize,
+                                                    String cursor, TotalsMode totals) {
+        log.info("Fetching products with filters - name: {}, categoryId: {}, page: {}, pageSize: {}, cursor: {}, totals: {}",
+                name, categoryId, page, pageSize, cursor, totals);
 
-    public PagedResponse<ProductDto> getAllProducts(String name, Long categoryId, int page, int pageSize) {
-        log.info("Fetching products with filters - name: {}, categoryId: {}, page: {}, pageSize: {}",
-                name, categoryId, page, pageSize);
+        if (name != null) {
+            Optional<List<ProductSearchIndex.Match>> matches = productSearchIndex.search(name, categoryId);
+            if (matches.isPresent()) {
+                return cursor != null
+                        ? searchAfter(matches.get(), ProductCursor.decode(cursor), pageSize)
+                        : searchPage(matches.get(), page, pageSize, totals);
+            }
+            if (productTrigramSearch.isEnabled()) {
+                return cursor != null
+                        ? trigramSearchAfter(name, categoryId, ProductCursor.decode(cursor), pageSize)
+                        : trigramSearchPage(name, categoryId, page, pageSize, totals);
+            }
+        }
+
+        String term = LikePatterns.escape(name);
+        if (cursor != null) {
+            ProductCursor position = ProductCursor.decode(cursor);
+            Slice<ProductSummary> productSlice = productRepository.findSummariesAfter(
+                    term, categoryId, position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize));
+            return buildCursorResponse(productSlice);
+        }
 
-        Pageable pageable = PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Product> productPage = productRepository.findByFilters(name, categoryId, pageable);
+        Pageable pageable = PageRequest.of(page, pageSize,
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
 
-        return buildPagedResponse(productPage);
+        return switch (totals) {
+            case EXACT -> {
+                Page<ProductSummary> productPage = productRepository.findSummariesByFilters(term, categoryId, pageable);
+                yield buildPagedResponse(productPage, productPage.getTotalElements(), totals);
+            }
+            case ESTIMATED -> {
+                Slice<ProductSummary> productSlice = productRepository.findSummarySliceByFilters(term, categoryId, pageable);
+                long seen = pageable.getOffset() + productSlice.getNumberOfElements() + (productSlice.hasNext() ? 1 : 0);
+                long estimate = Math.max(productCountCache.estimate(term, categoryId), seen);
+                yield buildPagedResponse(productSlice, estimate, totals);
+            }
+            case NONE -> {
+                Slice<ProductSummary> productSlice = productRepository.findSummarySliceByFilters(term, categoryId, pageable);
+                yield buildPagedResponse(productSlice, null, totals);
+            }
+        };
     }
 
     public ProductDto getProductById(Long id) {
+        return getStampedProductById(id).getValue();
+    }
+
+    /**
+     * The product and the validators of exactly that representation, both from one query that
+     * reads past the second-level cache, so the ETag sent never describes a different body.
+     */
+    public Stamped<ProductDto> getStampedProductById(Long id) {
         log.info("Fetching product with id: {}", id);
-        Product product = findProductById(id);
-        return productMapper.toDto(product);
+        Product product = productRepository.findWithCategoryAndSkusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        return new Stamped<>(productMapper.toDto(product), stampOf(product));
+    }
+
+    public ResourceStamp getProductStamp(Long id) {
+        return productRepository.findStampById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
     @Transactional
     public ProductDto createProduct(CreateProductRequest request) {
         log.info("Creating new product with name: {}", request.getName());
 
-        Category category = categoryService.findCategoryById(request.getCategoryId());
+        Category category = categoryReference(request.getCategoryId());
 
         if (productRepository.existsByNameAndCategoryId(request.getName(), request.getCategoryId())) {
             throw new DuplicateResourceException(
                     String.format("Product with name '%s' already exists in category '%s'",
-                            request.getName(), category.getName()));
+                            request.getName(), categoryService.findCategoryById(request.getCategoryId()).getName()));
         }
 
         Product product = productMapper.toEntity(request);
         product.setCategory(category);
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.indexAfterCommit(savedProduct);
+        catalogVersion.bumpAfterCommit();
 
         log.info("Product created successfully with id: {}", savedProduct.getId());
         return productMapper.toDto(savedProduct);
     }
 
     @Transactional
-    public ProductDto updateProduct(Long id, UpdateProductRequest request) {
+    public ProductDto updateProduct(Long id, UpdateProductRequest request, Long expectedVersion) {
         log.info("Updating product with id: {}", id);
 
-        Product product = findProductById(id);
+        // Read by query so the version checked against If-Match is the row's, not a cached copy's.
+        Product product = productRepository.findWithCategoryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product", id, expectedVersion, product.getVersion());
+        }
 
         if (request.getCategoryId() != null) {
-            Category newCategory = categoryService.findCategoryById(request.getCategoryId());
-            product.setCategory(newCategory);
+            product.setCategory(categoryReference(request.getCategoryId()));
         }
 
         if (request.getName() != null && !request.getName().equals(product.getName())) {
@@ -82,7 +166,9 @@ public class ProductService {
         }
 
         productMapper.updateEntityFromRequest(product, request);
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        productSearchIndex.indexAfterCommit(updatedProduct);
+        catalogVersion.bumpAfterCommit();
 
         log.info("Product updated successfully with id: {}", id);
         return productMapper.toDto(updatedProduct);
@@ -94,6 +180,8 @@ public class ProductService {
 
         Product product = findProductById(id);
         productRepository.delete(product);
+        productSearchIndex.removeAfterCommit(id);
+        catalogVersion.bumpAfterCommit();
 
         log.info("Product deleted successfully with id: {}", id);
     }
@@ -103,18 +191,149 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
-    private PagedResponse<ProductDto> buildPagedResponse(Page<Product> productPage) {
+    public void verifyProductExists(Long id) {
+        if (!productRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Product", "id", id);
+        }
+    }
+
+    /**
+     * Checks the category against the database rather than the category cache, which may still
+     * hold a category another instance has deleted, and returns a reference to attach it by.
+     */
+    private Category categoryReference(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
+
+    private static ResourceStamp stampOf(Product product) {
+        Category category = product.getCategory();
+        List<Sku> skus = product.getSkus();
+        LocalDateTime skusUpdatedAt = skus.stream()
+                .map(Sku::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new ResourceStamp(product.getVersion(), category.getVersion(), (long) skus.size(),
+                product.getUpdatedAt(), category.getUpdatedAt(), skusUpdatedAt);
+    }
+
+    private PagedResponse<ProductDto> searchPage(List<ProductSearchIndex.Match> matches, int page, int pageSize,
+                                                 TotalsMode totals) {
+        Pageable pageable = PageRequest.of(page, pageSize);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        Page<ProductSummary> productPage = new PageImpl<>(findSummaries(ids(matches.subList(from, to))), pageable, matches.size());
+        return buildPagedResponse(productPage, totals != TotalsMode.NONE ? (long) matches.size() : null, totals);
+    }
+
+    private PagedResponse<ProductDto> searchAfter(List<ProductSearchIndex.Match> matches, ProductCursor position,
+                                                  int pageSize) {
+        int from = 0;
+        while (from < matches.size() && !isAfter(matches.get(from), position)) {
+            from++;
+        }
+        int to = Math.min(from + pageSize, matches.size());
+        Slice<ProductSummary> productSlice = new SliceImpl<>(
+                findSummaries(ids(matches.subList(from, to))), PageRequest.of(0, pageSize), to < matches.size());
+        return buildCursorResponse(productSlice);
+    }
+
+    private PagedResponse<ProductDto> trigramSearchPage(String name, Long categoryId, int page, int pageSize,
+                                                        TotalsMode totals) {
+        Pageable pageable = PageRequest.of(page, pageSize);
+        List<Long> ids = productTrigramSearch.findIds(name, categoryId, pageSize + 1, pageable.getOffset());
+        boolean hasNext = ids.size() > pageSize;
+        List<ProductSummary> content = findSummaries(hasNext ? ids.subList(0, pageSize) : ids);
+
+        return switch (totals) {
+            case EXACT -> {
+                long total = productTrigramSearch.count(name, categoryId);
+                yield buildPagedResponse(new PageImpl<>(content, pageable, total), total, totals);
+            }
+            case ESTIMATED -> {
+                long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+                long estimate = Math.max(productCountCache.estimate(
+                        name, categoryId, () -> productTrigramSearch.count(name, categoryId)), seen);
+                yield buildPagedResponse(new SliceImpl<>(content, pageable, hasNext), estimate, totals);
+            }
+            case NONE -> buildPagedResponse(new SliceImpl<>(content, pageable, hasNext), null, totals);
+        };
+    }
+
+    private PagedResponse<ProductDto> trigramSearchAfter(String name, Long categoryId, ProductCursor position,
+                                                         int pageSize) {
+        List<Long> ids = productTrigramSearch.findIdsAfter(
+                name, categoryId, position.getCreatedAt(), position.getId(), pageSize + 1);
+        boolean hasNext = ids.size() > pageSize;
+        Slice<ProductSummary> productSlice = new SliceImpl<>(
+                findSummaries(hasNext ? ids.subList(0, pageSize) : ids), PageRequest.of(0, pageSize), hasNext);
+        return buildCursorResponse(productSlice);
+    }
+
+    private boolean isAfter(ProductSearchIndex.Match match, ProductCursor position) {
+        int byCreatedAt = match.createdAt().compareTo(position.getCreatedAt());
+        return byCreatedAt < 0 || (byCreatedAt == 0 && match.id() < position.getId());
+    }
+
+    private List<Long> ids(List<ProductSearchIndex.Match> matches) {
+        return matches.stream().map(ProductSearchIndex.Match::id).toList();
+    }
+
+    /**
+     * Loads the summaries of one page of search results, keeping the order of {@code ids}. A product
+     * deleted since it was matched is simply left out.
+     */
+    private List<ProductSummary> findSummaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummary> summaries = productRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ProductSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private PagedResponse<ProductDto> buildPagedResponse(Slice<ProductSummary> productSlice, Long totalElements,
+                                                         TotalsMode totals) {
+        return PagedResponse.<ProductDto>builder()
+                .content(productSlice.getContent().stream()
+                        .map(productMapper::toDto)
+                        .toList())
+                .page(productSlice.getNumber())
+                .pageSize(productSlice.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) Math.ceil((double) totalElements / productSlice.getSize()) : null)
+                .first(productSlice.isFirst())
+                .last(productSlice.isLast())
+                .totals(totals)
+                .nextCursor(nextCursor(productSlice))
+                .build();
+    }
+
+    private PagedResponse<ProductDto> buildCursorResponse(Slice<ProductSummary> productSlice) {
         return PagedResponse.<ProductDto>builder()
-                .content(productPage.getContent().stream()
+                .content(productSlice.getContent().stream()
                         .map(productMapper::toDto)
                         .toList())
-                .page(productPage.getNumber())
-                .pageSize(productPage.getSize())
-                .totalElements(productPage.getTotalElements())
-                .totalPages(productPage.getTotalPages())
-                .first(productPage.isFirst())
-                .last(productPage.isLast())
+                .pageSize(productSlice.getSize())
+                .first(false)
+                .last(!productSlice.hasNext())
+                .totals(TotalsMode.NONE)
+                .nextCursor(nextCursor(productSlice))
                 .build();
     }
+
+    private String nextCursor(Slice<ProductSummary> slice) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        ProductSummary last = slice.getContent().get(slice.getNumberOfElements() - 1);
+        return ProductCursor.encode(last.getCreatedAt(), last.getId());
+    }
 }
 
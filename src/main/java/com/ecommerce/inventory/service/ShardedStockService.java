@@ -0,0 +1,237 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.SkuDto;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.entity.SkuStockShard;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.mapper.SkuMapper;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.ecommerce.inventory.repository.SkuStockShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stock for very hot SKUs split across {@link SkuStockShard} rows, so concurrent decrements lock
+ * one of N rows instead of queueing on the single SKU row. A decrement tries shards starting from
+ * a random one and takes the first that can cover it; only when no single shard can does it lock
+ * every shard and drain across them.
+ * <p>
+ * The rebalancer periodically evens out the shards, so random picks keep landing on a shard with
+ * stock, and writes the total back to {@code skus.quantity}, which serves as the cached level for
+ * reads. Sharded SKUs cannot hold reservations.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ShardedStockService {
+
+    private final SkuRepository skuRepository;
+    private final SkuStockShardRepository shardRepository;
+    private final SkuMapper skuMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardedStockService(SkuRepository skuRepository,
+                               SkuStockShardRepository shardRepository,
+                               SkuMapper skuMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.skuRepository = skuRepository;
+        this.shardRepository = shardRepository;
+        this.skuMapper = skuMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Splits the SKU's stock evenly across {@code shardCount} shards, or re-splits it when the SKU
+     * is already sharded.
+     */
+    @Transactional
+    public SkuDto enableSharding(Long productId, Long skuId, int shardCount) {
+        log.info("Sharding stock of SKU id: {} across {} shards", skuId, shardCount);
+
+        Sku sku = findSkuForUpdate(productId, skuId);
+        if (sku.getReservedQuantity() > 0) {
+            throw new InvalidOperationException(String.format(
+                    "SKU %d has %d units reserved; sharded SKUs cannot hold reservations", skuId, sku.getReservedQuantity()));
+        }
+
+        List<SkuStockShard> shards = sku.getShardCount() > 0
+                ? new ArrayList<>(shardRepository.findAllBySkuIdForUpdate(skuId))
+                : new ArrayList<>();
+        int total = shards.isEmpty() ? sku.getQuantity() : sum(shards);
+
+        if (shards.size() > shardCount) {
+            shardRepository.deleteAll(new ArrayList<>(shards.subList(shardCount, shards.size())));
+            shards.subList(shardCount, shards.size()).clear();
+        }
+        for (int index = shards.size(); index < shardCount; index++) {
+            shards.add(SkuStockShard.builder().sku(sku).shardIndex(index).build());
+        }
+        distribute(shards, total);
+        shardRepository.saveAll(shards);
+
+        sku.setShardCount(shardCount);
+        sku.setQuantity(total);
+        return skuMapper.toDto(skuRepository.saveAndFlush(sku));
+    }
+
+    /**
+     * Folds the shards back into {@code skus.quantity}.
+     */
+    @Transactional
+    public SkuDto disableSharding(Long productId, Long skuId) {
+        log.info("Removing stock shards of SKU id: {}", skuId);
+
+        Sku sku = findSkuForUpdate(productId, skuId);
+        if (sku.getShardCount() == 0) {
+            return skuMapper.toDto(sku);
+        }
+
+        List<SkuStockShard> shards = shardRepository.findAllBySkuIdForUpdate(skuId);
+        int total = sum(shards);
+        shardRepository.deleteAll(shards);
+
+        sku.setShardCount(0);
+        sku.setQuantity(total);
+        return skuMapper.toDto(skuRepository.saveAndFlush(sku));
+    }
+
+    /**
+     * Takes {@code quantity} from a sharded SKU and returns the remaining total. The total is read
+     * after the update without locking the other shards, so it may include concurrent changes.
+     */
+    @Transactional
+    public int decrement(Sku sku, int quantity) {
+        int shardCount = requireSharded(sku);
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            if (shardRepository.decrementQuantity(sku.getId(), (start + i) % shardCount, quantity) == 1) {
+                return total(sku.getId());
+            }
+        }
+
+        // No single shard covers the request: drain across all of them under lock.
+        List<SkuStockShard> shards = lockShards(sku.getId());
+        int available = sum(shards);
+        if (available < quantity) {
+            throw new InsufficientStockException(sku.getId(), quantity, available);
+        }
+
+        int remaining = quantity;
+        for (SkuStockShard shard : shards.stream().sorted(Comparator.comparing(SkuStockShard::getQuantity).reversed()).toList()) {
+            int taken = Math.min(remaining, shard.getQuantity());
+            shard.setQuantity(shard.getQuantity() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return available - quantity;
+    }
+
+    /**
+     * Adds {@code quantity} to a random shard and returns the new total.
+     */
+    @Transactional
+    public int increment(Sku sku, int quantity) {
+        int shardIndex = ThreadLocalRandom.current().nextInt(requireSharded(sku));
+        if (shardRepository.incrementQuantity(sku.getId(), shardIndex, quantity) == 0) {
+            throw shardingChanged(sku.getId());
+        }
+        return total(sku.getId());
+    }
+
+    /**
+     * Evens out skewed shards and refreshes the cached total of every sharded SKU. Each SKU runs in
+     * its own transaction so the shard locks are held only briefly.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stock.sharding.rebalance-interval-millis:5000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebalance() {
+        for (Long skuId : skuRepository.findShardedSkuIds()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(skuId));
+            } catch (RuntimeException ex) {
+                log.error("Failed to rebalance stock shards of SKU id: {}", skuId, ex);
+            }
+        }
+    }
+
+    private void rebalance(Long skuId) {
+        // Locked before reading: shards read first and locked afterwards would come back as the
+        // same managed instances, unrefreshed, and overwrite decrements committed in between.
+        List<SkuStockShard> shards = shardRepository.findAllBySkuIdForUpdate(skuId);
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        int total = sum(shards);
+        if (isSkewed(shards, total)) {
+            distribute(shards, total);
+            // Flushed now: the SKU update below clears the persistence context and touches
+            // another table, so it would not flush the shards first.
+            shardRepository.saveAllAndFlush(shards);
+            log.debug("Rebalanced {} stock shards of SKU id: {}", shards.size(), skuId);
+        }
+        skuRepository.refreshShardedQuantity(skuId, total, LocalDateTime.now());
+    }
+
+    private boolean isSkewed(List<SkuStockShard> shards, int total) {
+        int floor = total / shards.size() / 2;
+        return shards.stream().anyMatch(shard -> shard.getQuantity() < floor);
+    }
+
+    private void distribute(List<SkuStockShard> shards, int total) {
+        int share = total / shards.size();
+        int remainder = total % shards.size();
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setQuantity(share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private int requireSharded(Sku sku) {
+        if (sku.getShardCount() == 0) {
+            throw shardingChanged(sku.getId());
+        }
+        return sku.getShardCount();
+    }
+
+    private List<SkuStockShard> lockShards(Long skuId) {
+        List<SkuStockShard> shards = shardRepository.findAllBySkuIdForUpdate(skuId);
+        if (shards.isEmpty()) {
+            throw shardingChanged(skuId);
+        }
+        return shards;
+    }
+
+    private int total(Long skuId) {
+        return Math.toIntExact(shardRepository.sumQuantityBySkuId(skuId));
+    }
+
+    private int sum(List<SkuStockShard> shards) {
+        return shards.stream().mapToInt(SkuStockShard::getQuantity).reduce(0, Math::addExact);
+    }
+
+    private Sku findSkuForUpdate(Long productId, Long skuId) {
+        return skuRepository.findByIdAndProductIdForUpdate(skuId, productId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format("SKU not found with id: %d for product id: %d", skuId, productId)));
+    }
+
+    private InvalidOperationException shardingChanged(Long skuId) {
+        return new InvalidOperationException(String.format(
+                "Stock sharding of SKU %d changed concurrently, please retry", skuId));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.SkuDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Near-cache of SKU ids by code for callers that only know the code, such as checkout stock checks.
+ * Only the code-to-id mapping is cached; the rows themselves are always read by primary key, so
+ * stock, prices and names are as fresh as the database whichever instance wrote them.
+ * <p>
+ * A mapping goes stale only when its SKU is deleted or given another code. Lookups notice that,
+ * since the row read by id is missing or carries a different code, and resolve the code again, so
+ * writes don't need to evict anything.
+ */
+@Component
+public class SkuCodeCache {
+
+    private final Cache<String, Long> idsByCode;
+
+    public SkuCodeCache(MeterRegistry meterRegistry,
+                        @Value("${inventory.cache.skus-by-code.spec:maximumSize=100000,recordStats}") String spec) {
+        this.idsByCode = Caffeine.from(spec).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByCode, "skusByCode");
+    }
+
+    /**
+     * Returns the SKUs for {@code skuCodes} in request order. Codes with a cached id are read with
+     * one call to {@code byIds}; the others, and any whose mapping turned out stale, with one call
+     * to {@code byCodes}. Codes that do not exist are left out.
+     */
+    public Map<String, SkuDto> getAll(Collection<String> skuCodes,
+                                      Function<Set<Long>, List<SkuDto>> byIds,
+                                      Function<Set<String>, List<SkuDto>> byCodes) {
+        Map<String, Long> cachedIds = idsByCode.getAllPresent(skuCodes);
+        Map<String, SkuDto> found = new HashMap<>();
+        if (!cachedIds.isEmpty()) {
+            for (SkuDto sku : byIds.apply(Set.copyOf(cachedIds.values()))) {
+                if (sku.getId().equals(cachedIds.get(sku.getSkuCode()))) {
+                    found.put(sku.getSkuCode(), sku);
+                }
+            }
+            cachedIds.forEach((skuCode, id) -> {
+                if (!found.containsKey(skuCode)) {
+                    idsByCode.asMap().remove(skuCode, id);
+                }
+            });
+        }
+
+        Set<String> missing = new LinkedHashSet<>(skuCodes);
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            for (SkuDto sku : byCodes.apply(missing)) {
+                found.put(sku.getSkuCode(), sku);
+                idsByCode.put(sku.getSkuCode(), sku.getId());
+            }
+        }
+
+        Map<String, SkuDto> result = new LinkedHashMap<>();
+        for (String skuCode : skuCodes) {
+            SkuDto sku = found.get(skuCode);
+            if (sku != null) {
+                result.put(skuCode, sku);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds mappings without replacing ones cached in the meantime, for warming the cache from a
+     * snapshot. Returns how many were added.
+     */
+    public int prime(Map<String, Long> mappings) {
+        int primed = 0;
+        for (Map.Entry<String, Long> mapping : mappings.entrySet()) {
+            if (idsByCode.asMap().putIfAbsent(mapping.getKey(), mapping.getValue()) == null) {
+                primed++;
+            }
+        }
+        return primed;
+    }
+
+    /**
+     * The mappings currently cached, code to id.
+     */
+    public Map<String, Long> entries() {
+        return Map.copyOf(idsByCode.asMap());
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.BulkSkuItemResult;
+import com.ecommerce.inventory.dto.BulkSkuResult;
+import com.ecommerce.inventory.dto.CreateSkuRequest;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Creates SKUs from a JSON array of any length without reading it into memory. Elements are
+ * parsed one at a time and validated as they arrive; valid ones are handed to
+ * {@link SkuService#createSkus} in batches of {@code batch-size}, each committed in its own
+ * transaction that also flushes and clears the persistence context before it ends. A batch that fails
+ * to commit, e.g. because another request inserted one of its SKU codes after the batch checked for
+ * them, is retried one SKU at a time so that only the clashing SKUs are reported. Only the counts and the
+ * first {@value #MAX_REPORTED_FAILURES} failed items are kept, so memory use follows the batch
+ * size rather than the body.
+ * <p>
+ * Not transactional on purpose: a single transaction would hold every inserted SKU until the end.
+ * Batches committed before a malformed body is detected stay committed.
+ */
+@Service
+@Slf4j
+public class SkuIngestService {
+
+    static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final SkuService skuService;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SkuIngestService(SkuService skuService,
+                            ProductService productService,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.sku.ingest.batch-size:500}") int batchSize) {
+        this.skuService = skuService;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public BulkSkuResult ingestSkus(Long productId, InputStream body) throws IOException {
+        log.info("Streaming SKU ingestion for product id: {}", productId);
+        productService.findProductById(productId);
+
+        Ingestion ingestion = new Ingestion(productId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidOperationException("Request body must be a JSON array of SKUs");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new InvalidOperationException("Unexpected end of SKU array");
+                }
+                // Bound to a tree first so that a wrongly typed field fails only its own element.
+                JsonNode element = parser.readValueAsTree();
+                ingestion.accept(element);
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidOperationException("Unexpected content after SKU array");
+            }
+        } catch (JsonProcessingException ex) {
+            throw new InvalidOperationException(String.format(
+                    "Malformed JSON after %d SKUs (%d created): %s",
+                    ingestion.requested, ingestion.created, ex.getOriginalMessage()));
+        }
+        ingestion.flush();
+
+        log.info("Streaming SKU ingestion for product id: {} - created: {}, failed: {}",
+                productId, ingestion.created, ingestion.requested - ingestion.created);
+        return BulkSkuResult.builder()
+                .requested(ingestion.requested)
+                .created(ingestion.created)
+                .failed(ingestion.requested - ingestion.created)
+                .results(ingestion.failures)
+                .errorsTruncated(ingestion.failuresTruncated)
+                .build();
+    }
+
+    private final class Ingestion {
+
+        private final Long productId;
+        private final List<CreateSkuRequest> batch = new ArrayList<>(batchSize);
+        private final List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        private final List<BulkSkuItemResult> failures = new ArrayList<>();
+        private int requested;
+        private int created;
+        private boolean failuresTruncated;
+
+        private Ingestion(Long productId) {
+            this.productId = productId;
+        }
+
+        void accept(JsonNode element) {
+            int index = requested++;
+
+            CreateSkuRequest request;
+            try {
+                request = objectMapper.treeToValue(element, CreateSkuRequest.class);
+            } catch (JsonProcessingException ex) {
+                fail(index, element.path("skuCode").asText(null), "Invalid SKU: " + ex.getOriginalMessage());
+                return;
+            }
+
+            String violations = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!violations.isEmpty()) {
+                fail(index, request.getSkuCode(), violations);
+                return;
+            }
+
+            batch.add(request);
+            batchIndexes.add(index);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                record(write(batch), batchIndexes);
+            } catch (RuntimeException ex) {
+                log.warn("SKU ingestion for product id: {} rolled back elements {}-{}, retrying them one at a time",
+                        productId, batchIndexes.get(0), batchIndexes.get(batchIndexes.size() - 1), ex);
+                for (int i = 0; i < batch.size(); i++) {
+                    CreateSkuRequest request = batch.get(i);
+                    int index = batchIndexes.get(i);
+                    try {
+                        record(write(List.of(request)), List.of(index));
+                    } catch (RuntimeException skuEx) {
+                        log.debug("SKU ingestion for product id: {} rolled back element {}", productId, index, skuEx);
+                        fail(index, request.getSkuCode(), "SKU rolled back: " + skuEx.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchIndexes.clear();
+        }
+
+        private BulkSkuResult write(List<CreateSkuRequest> requests) {
+            // Flushed and cleared inside the batch's transaction, where the entity manager is the
+            // one holding the inserted SKUs, rather than relying on open-in-view to keep it bound.
+            return transactionTemplate.execute(status -> {
+                BulkSkuResult batchResult = skuService.createSkus(productId, requests);
+                entityManager.flush();
+                entityManager.clear();
+                return batchResult;
+            });
+        }
+
+        private void record(BulkSkuResult result, List<Integer> indexes) {
+            created += result.getCreated();
+            for (BulkSkuItemResult item : result.getResults()) {
+                if (item.getStatus() == BulkSkuItemResult.Status.FAILED) {
+                    fail(indexes.get(item.getIndex()), item.getSkuCode(), item.getError());
+                }
+            }
+        }
+
+        private void fail(int index, String skuCode, String error) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(BulkSkuItemResult.builder()
+                        .index(index)
+                        .skuCode(skuCode)
+                        .status(BulkSkuItemResult.Status.FAILED)
+                        .error(error)
+                        .build());
+            } else {
+                failuresTruncated = true;
+            }
+        }
+    }
+}
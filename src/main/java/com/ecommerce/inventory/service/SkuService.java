@@ -4,6 +4,9 @@ import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.entity.Product;
 import com.ecommerce.inventory.entity.Sku;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
 import com.ecommerce.inventory.mapper.SkuMapper;
 import com.ecommerce.inventory.repository.SkuRepository;
@@ -12,7 +15,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,14 +33,19 @@ public class SkuService {
     private final SkuRepository skuRepository;
     private final SkuMapper skuMapper;
     private final ProductService productService;
+    private final ShardedStockService shardedStockService;
+    private final CatalogVersion catalogVersion;
+    private final SkuCodeCache skuCodeCache;
 
     public List<SkuDto> getSkusByProductId(Long productId) {
         log.info("Fetching all SKUs for product id: {}", productId);
 
-        // Verify product exists
-        productService.findProductById(productId);
+        List<Sku> skus = skuRepository.findByProductId(productId);
+        if (skus.isEmpty()) {
+            productService.verifyProductExists(productId);
+        }
 
-        return skuRepository.findByProductId(productId).stream()
+        return skus.stream()
                 .map(skuMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -39,13 +53,37 @@ public class SkuService {
     public SkuDto getSkuById(Long productId, Long skuId) {
         log.info("Fetching SKU with id: {} for product id: {}", skuId, productId);
 
-        // Verify product exists
-        productService.findProductById(productId);
-
         Sku sku = findSkuByIdAndProductId(skuId, productId);
         return skuMapper.toDto(sku);
     }
 
+    public SkuDto getSkuByCode(String skuCode) {
+        log.info("Fetching SKU with code: {}", skuCode);
+
+        return getSkusByCodes(List.of(skuCode)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("SKU", "skuCode", skuCode));
+    }
+
+    /**
+     * Resolves SKUs by code, reading the rows by the ids in the near-cache and the remaining codes
+     * with one IN query each. The result follows request order; unknown codes are left out.
+     */
+    public List<SkuDto> getSkusByCodes(List<String> skuCodes) {
+        return List.copyOf(skuCodeCache.getAll(skuCodes,
+                ids -> skuRepository.findAllWithProductByIdIn(ids).stream()
+                        .map(skuMapper::toDto)
+                        .collect(Collectors.toList()),
+                missing -> skuRepository.findAllBySkuCodeIn(missing).stream()
+                        .map(skuMapper::toDto)
+                        .collect(Collectors.toList())).values());
+    }
+
+    public ResourceStamp getSkuStamp(Long productId, Long skuId) {
+        return skuRepository.findStampByIdAndProductId(skuId, productId)
+                .orElseThrow(() -> skuOrProductNotFound(skuId, productId));
+    }
+
     @Transactional
     public SkuDto createSku(Long productId, CreateSkuRequest request) {
         log.info("Creating new SKU with code: {} for product id: {}", request.getSkuCode(), productId);
@@ -59,19 +97,75 @@ public class SkuService {
         Sku sku = skuMapper.toEntity(request);
         sku.setProduct(product);
         Sku savedSku = skuRepository.save(sku);
+        catalogVersion.bumpAfterCommit();
 
         log.info("SKU created successfully with id: {}", savedSku.getId());
         return skuMapper.toDto(savedSku);
     }
 
     @Transactional
-    public SkuDto updateSku(Long productId, Long skuId, UpdateSkuRequest request) {
-        log.info("Updating SKU with id: {} for product id: {}", skuId, productId);
+    public BulkSkuResult createSkus(Long productId, List<CreateSkuRequest> requests) {
+        log.info("Bulk creating {} SKUs for product id: {}", requests.size(), productId);
+
+        Product product = productService.findProductById(productId);
+
+        Set<String> existingCodes = new HashSet<>(skuRepository.findExistingSkuCodes(
+                requests.stream().map(CreateSkuRequest::getSkuCode).collect(Collectors.toSet())));
+        Set<String> requestedCodes = new HashSet<>();
 
-        // Verify product exists
-        productService.findProductById(productId);
+        List<BulkSkuItemResult> results = new ArrayList<>(requests.size());
+        List<BulkSkuItemResult> createdResults = new ArrayList<>();
+        List<Sku> skus = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateSkuRequest request = requests.get(i);
+            String skuCode = request.getSkuCode();
+
+            if (existingCodes.contains(skuCode)) {
+                results.add(failedItem(i, skuCode, String.format("SKU already exists with skuCode: '%s'", skuCode)));
+            } else if (!requestedCodes.add(skuCode)) {
+                results.add(failedItem(i, skuCode, String.format("Duplicate skuCode '%s' in request", skuCode)));
+            } else {
+                Sku sku = skuMapper.toEntity(request);
+                sku.setProduct(product);
+                skus.add(sku);
+
+                BulkSkuItemResult result = BulkSkuItemResult.builder()
+                        .index(i)
+                        .skuCode(skuCode)
+                        .status(BulkSkuItemResult.Status.CREATED)
+                        .build();
+                results.add(result);
+                createdResults.add(result);
+            }
+        }
+
+        List<Sku> savedSkus = skuRepository.saveAll(skus);
+        if (!savedSkus.isEmpty()) {
+            catalogVersion.bumpAfterCommit();
+        }
+        for (int i = 0; i < savedSkus.size(); i++) {
+            createdResults.get(i).setSku(skuMapper.toDto(savedSkus.get(i)));
+        }
+
+        log.info("Bulk SKU creation for product id: {} - created: {}, failed: {}",
+                productId, savedSkus.size(), requests.size() - savedSkus.size());
+        return BulkSkuResult.builder()
+                .requested(requests.size())
+                .created(savedSkus.size())
+                .failed(requests.size() - savedSkus.size())
+                .results(results)
+                .build();
+    }
+
+    @Transactional
+    public SkuDto updateSku(Long productId, Long skuId, UpdateSkuRequest request, Long expectedVersion) {
+        log.info("Updating SKU with id: {} for product id: {}", skuId, productId);
 
         Sku sku = findSkuByIdAndProductId(skuId, productId);
+        if (expectedVersion != null && !expectedVersion.equals(sku.getVersion())) {
+            throw new PreconditionFailedException("SKU", skuId, expectedVersion, sku.getVersion());
+        }
 
         if (request.getSkuCode() != null && !request.getSkuCode().equals(sku.getSkuCode())) {
             if (skuRepository.existsBySkuCodeAndIdNot(request.getSkuCode(), skuId)) {
@@ -79,8 +173,19 @@ public class SkuService {
             }
         }
 
+        if (request.getQuantity() != null && sku.getShardCount() > 0) {
+            throw new InvalidOperationException(
+                    "Quantity of a sharded SKU can only be changed through the stock endpoints");
+        }
+
+        if (request.getQuantity() != null && request.getQuantity() < sku.getReservedQuantity()) {
+            throw new InvalidOperationException(String.format(
+                    "Quantity cannot be set below the %d units currently reserved", sku.getReservedQuantity()));
+        }
+
         skuMapper.updateEntityFromRequest(sku, request);
-        Sku updatedSku = skuRepository.save(sku);
+        Sku updatedSku = skuRepository.saveAndFlush(sku);
+        catalogVersion.bumpAfterCommit();
 
         log.info("SKU updated successfully with id: {}", skuId);
         return skuMapper.toDto(updatedSku);
@@ -90,19 +195,120 @@ public class SkuService {
     public void deleteSku(Long productId, Long skuId) {
         log.info("Deleting SKU with id: {} for product id: {}", skuId, productId);
 
-        // Verify product exists
-        productService.findProductById(productId);
-
         Sku sku = findSkuByIdAndProductId(skuId, productId);
         skuRepository.delete(sku);
+        catalogVersion.bumpAfterCommit();
 
         log.info("SKU deleted successfully with id: {}", skuId);
     }
 
+    /**
+     * Takes unreserved stock with a single conditional UPDATE so concurrent callers never lose writes.
+     * The row stays locked by this transaction until commit, so the follow-up read
+     * returns exactly the level produced by this decrement. Sharded SKUs never match the UPDATE
+     * and are handed to {@link ShardedStockService}.
+     */
+    @Transactional
+    public StockLevelDto decrementStock(Long productId, Long skuId, int quantity) {
+        log.info("Decrementing stock by {} for SKU id: {} of product id: {}", quantity, skuId, productId);
+
+        int updated = skuRepository.decrementQuantity(skuId, productId, quantity, LocalDateTime.now());
+        if (updated == 0) {
+            Sku sku = findSkuByIdAndProductId(skuId, productId);
+            if (sku.getShardCount() > 0) {
+                return stockLevel(skuId, shardedStockService.decrement(sku, quantity));
+            }
+            throw new InsufficientStockException(skuId, quantity, sku.getQuantity() - sku.getReservedQuantity());
+        }
+
+        return stockLevel(skuId, findQuantity(skuId, productId));
+    }
+
+    @Transactional
+    public StockLevelDto incrementStock(Long productId, Long skuId, int quantity) {
+        log.info("Incrementing stock by {} for SKU id: {} of product id: {}", quantity, skuId, productId);
+
+        int updated = skuRepository.incrementQuantity(skuId, productId, quantity, LocalDateTime.now());
+        if (updated == 0) {
+            Sku sku = findSkuByIdAndProductId(skuId, productId);
+            return stockLevel(skuId, shardedStockService.increment(sku, quantity));
+        }
+
+        return stockLevel(skuId, findQuantity(skuId, productId));
+    }
+
+    /**
+     * Applies a signed net change in one conditional UPDATE. Returns the new on-hand level, or empty
+     * when the change would take more than the available stock, the SKU is sharded or does not exist.
+     */
+    @Transactional
+    public Optional<Integer> adjustStock(Long productId, Long skuId, int delta) {
+        if (skuRepository.adjustQuantity(skuId, productId, delta, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(findQuantity(skuId, productId));
+    }
+
+    /**
+     * Decrements several SKUs all-or-nothing: every line is checked against the locked rows before
+     * any of them changes, and the dirty SKUs are flushed as one JDBC batch on commit.
+     */
+    @Transactional
+    public List<StockLevelDto> decrementStockBatch(List<StockLineRequest> lines) {
+        Map<String, Integer> quantities = StockLines.merge(lines);
+        log.info("Batch decrementing stock for {} SKUs", quantities.size());
+
+        List<Sku> skus = StockLines.lock(skuRepository, quantities.keySet());
+        StockLines.requireAvailable(skus, quantities);
+
+        skus.forEach(sku -> sku.setQuantity(sku.getQuantity() - quantities.get(sku.getSkuCode())));
+        return skus.stream()
+                .map(sku -> StockLevelDto.builder()
+                        .skuId(sku.getId())
+                        .skuCode(sku.getSkuCode())
+                        .quantity(sku.getQuantity())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private int findQuantity(Long skuId, Long productId) {
+        return skuRepository.findQuantityByIdAndProductId(skuId, productId)
+                .orElseThrow(() -> skuNotFound(skuId, productId));
+    }
+
+    private StockLevelDto stockLevel(Long skuId, int quantity) {
+        return StockLevelDto.builder()
+                .skuId(skuId)
+                .quantity(quantity)
+                .build();
+    }
+
+    private BulkSkuItemResult failedItem(int index, String skuCode, String error) {
+        return BulkSkuItemResult.builder()
+                .index(index)
+                .skuCode(skuCode)
+                .status(BulkSkuItemResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Loads the SKU together with its product in one query. Only on a miss is the product looked up,
+     * so a missing product is still reported as such rather than as a missing SKU.
+     */
     private Sku findSkuByIdAndProductId(Long skuId, Long productId) {
         return skuRepository.findByIdAndProductId(skuId, productId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("SKU not found with id: %d for product id: %d", skuId, productId)));
+                .orElseThrow(() -> skuOrProductNotFound(skuId, productId));
+    }
+
+    private ResourceNotFoundException skuOrProductNotFound(Long skuId, Long productId) {
+        productService.verifyProductExists(productId);
+        return skuNotFound(skuId, productId);
+    }
+
+    private ResourceNotFoundException skuNotFound(Long skuId, Long productId) {
+        return new ResourceNotFoundException(
+                String.format("SKU not found with id: %d for product id: %d", skuId, productId));
     }
 }
 
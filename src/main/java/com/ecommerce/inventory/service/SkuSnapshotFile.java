@@ -0,0 +1,128 @@
+package com.ecommerce.inventory.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the cached SKU code-to-id mappings. Layout, big-endian: a header of magic,
+ * format version, time taken (epoch millis) and record count; the records; and a CRC-32 of
+ * everything before it. A record holds the SKU's id and code, the code as a {@code short} byte
+ * length followed by UTF-8.
+ * <p>
+ * Files are written to a sibling and moved into place, so readers never see a partial file, and
+ * read through a memory mapping.
+ */
+final class SkuSnapshotFile {
+
+    static final int MAGIC = 0x534B5553;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES;
+
+    record Snapshot(Instant takenAt, Map<String, Long> idsByCode) {
+    }
+
+    private SkuSnapshotFile() {
+    }
+
+    static void write(Path path, Instant takenAt, Map<String, Long> idsByCode) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(takenAt.toEpochMilli());
+                out.writeInt(idsByCode.size());
+                for (Map.Entry<String, Long> mapping : idsByCode.entrySet()) {
+                    out.writeLong(mapping.getValue());
+                    writeString(out, mapping.getKey());
+                }
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot has an invalid size: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int contentBytes = (int) size - TRAILER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, contentBytes));
+            if (crc.getValue() != buffer.getLong(contentBytes)) {
+                throw new IOException("Snapshot checksum does not match");
+            }
+
+            ByteBuffer content = buffer.slice(0, contentBytes);
+            if (content.getInt() != MAGIC) {
+                throw new IOException("Not a SKU snapshot");
+            }
+            int formatVersion = content.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version: " + formatVersion);
+            }
+            Instant takenAt = Instant.ofEpochMilli(content.getLong());
+            int count = content.getInt();
+
+            Map<String, Long> idsByCode = new LinkedHashMap<>();
+            try {
+                for (int i = 0; i < count; i++) {
+                    long id = content.getLong();
+                    idsByCode.put(readString(content), id);
+                }
+            } catch (BufferUnderflowException ex) {
+                throw new IOException("Snapshot is truncated", ex);
+            }
+            if (content.hasRemaining()) {
+                throw new IOException("Snapshot has trailing bytes");
+            }
+            return new Snapshot(takenAt, idsByCode);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("String too long for a snapshot record: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        short length = in.getShort();
+        if (length < 0) {
+            throw new IOException("Snapshot has an invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a snapshot of the {@link SkuCodeCache} on local disk, so that a restarted instance starts
+ * with the SKUs it was serving instead of a cold cache. The snapshot is rewritten periodically
+ * and on shutdown, and loaded once the application is ready.
+ * <p>
+ * Loading catches up with writes made since the snapshot was taken: each mapping is checked
+ * against its row's current code, a batch of ids at a time, and dropped if the SKU was deleted or
+ * given another code.
+ */
+@Component
+@Slf4j
+public class SkuSnapshotService {
+
+    static final int CATCH_UP_BATCH_SIZE = 1000;
+
+    private final SkuRepository skuRepository;
+    private final SkuCodeCache skuCodeCache;
+    private final boolean enabled;
+    private final Path path;
+
+    public SkuSnapshotService(SkuRepository skuRepository,
+                              SkuCodeCache skuCodeCache,
+                              @Value("${inventory.snapshot.enabled:false}") boolean enabled,
+                              @Value("${inventory.snapshot.path:data/sku-snapshot.bin}") Path path) {
+        this.skuRepository = skuRepository;
+        this.skuCodeCache = skuCodeCache;
+        this.enabled = enabled;
+        this.path = path;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+
+        SkuSnapshotFile.Snapshot snapshot;
+        try {
+            snapshot = SkuSnapshotFile.read(path);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable SKU snapshot: {}", path, ex);
+            return;
+        }
+
+        List<Map.Entry<String, Long>> mappings = List.copyOf(snapshot.idsByCode().entrySet());
+        int primed = 0;
+        for (int from = 0; from < mappings.size(); from += CATCH_UP_BATCH_SIZE) {
+            primed += skuCodeCache.prime(catchUp(
+                    mappings.subList(from, Math.min(from + CATCH_UP_BATCH_SIZE, mappings.size()))));
+        }
+
+        log.info("Primed {} of {} SKUs from a snapshot taken {} s earlier in {} ms", primed, mappings.size(),
+                Duration.between(snapshot.takenAt(), Instant.now()).toSeconds(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(initialDelayString = "${inventory.snapshot.interval-millis:300000}",
+            fixedDelayString = "${inventory.snapshot.interval-millis:300000}")
+    @PreDestroy
+    public synchronized void write() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Long> idsByCode = skuCodeCache.entries();
+        if (idsByCode.isEmpty()) {
+            return;
+        }
+        try {
+            SkuSnapshotFile.write(path, Instant.now(), idsByCode);
+            log.debug("Wrote SKU snapshot with {} SKUs to {}", idsByCode.size(), path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write SKU snapshot: {}", path, ex);
+        }
+    }
+
+    private Map<String, Long> catchUp(List<Map.Entry<String, Long>> batch) {
+        Map<Long, Object> currentCodes = new HashMap<>();
+        for (Object[] row : skuRepository.findCodesByIdIn(batch.stream().map(Map.Entry::getValue).toList())) {
+            currentCodes.put((Long) row[0], row[1]);
+        }
+
+        Map<String, Long> current = new HashMap<>();
+        for (Map.Entry<String, Long> mapping : batch) {
+            if (mapping.getKey().equals(currentCodes.get(mapping.getValue()))) {
+                current.put(mapping.getKey(), mapping.getValue());
+            }
+        }
+        return current;
+    }
+}
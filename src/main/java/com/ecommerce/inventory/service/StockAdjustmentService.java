@@ -0,0 +1,49 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.StockLevelDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Entry point for single-SKU stock adjustments. Routes through {@link StockUpdateBatcher} when
+ * batching is enabled and straight to {@link SkuService} otherwise. Deliberately not transactional:
+ * a caller waiting for its batch must not hold a connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockAdjustmentService {
+
+    private final SkuService skuService;
+    private final StockUpdateBatcher stockUpdateBatcher;
+
+    public StockLevelDto decrementStock(Long productId, Long skuId, int quantity) {
+        if (!stockUpdateBatcher.isEnabled()) {
+            return skuService.decrementStock(productId, skuId, quantity);
+        }
+        return await(skuId, stockUpdateBatcher.submit(productId, skuId, -quantity));
+    }
+
+    public StockLevelDto incrementStock(Long productId, Long skuId, int quantity) {
+        if (!stockUpdateBatcher.isEnabled()) {
+            return skuService.incrementStock(productId, skuId, quantity);
+        }
+        return await(skuId, stockUpdateBatcher.submit(productId, skuId, quantity));
+    }
+
+    private StockLevelDto await(Long skuId, CompletableFuture<Integer> level) {
+        try {
+            return StockLevelDto.builder()
+                    .skuId(skuId)
+                    .quantity(level.join())
+                    .build();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
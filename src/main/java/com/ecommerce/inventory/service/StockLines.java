@@ -0,0 +1,59 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.StockLineRequest;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.repository.SkuRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Shared handling for multi-SKU stock requests: lines for the same SKU code are merged and the
+ * affected rows are locked in ascending id order, so overlapping batches always queue on the
+ * same row first instead of deadlocking.
+ */
+final class StockLines {
+
+    private StockLines() {
+    }
+
+    static Map<String, Integer> merge(List<StockLineRequest> lines) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach(line -> quantities.merge(line.getSkuCode(), line.getQuantity(), Math::addExact));
+        return quantities;
+    }
+
+    static List<Sku> lock(SkuRepository skuRepository, Set<String> skuCodes) {
+        List<Sku> skus = skuRepository.findAllBySkuCodeForUpdate(skuCodes);
+        if (skus.size() != skuCodes.size()) {
+            Set<String> found = skus.stream().map(Sku::getSkuCode).collect(Collectors.toSet());
+            List<String> missing = skuCodes.stream().filter(code -> !found.contains(code)).sorted().toList();
+            throw new ResourceNotFoundException(String.format("SKUs not found with skuCode: %s", missing));
+        }
+        return skus;
+    }
+
+    static void requireAvailable(List<Sku> skus, Map<String, Integer> quantities) {
+        for (Sku sku : skus) {
+            requireUnsharded(sku);
+            int requested = quantities.get(sku.getSkuCode());
+            int available = sku.getQuantity() - sku.getReservedQuantity();
+            if (available < requested) {
+                throw new InsufficientStockException(sku.getSkuCode(), requested, available);
+            }
+        }
+    }
+
+    static void requireUnsharded(Sku sku) {
+        if (sku.getShardCount() > 0) {
+            throw new InvalidOperationException(String.format(
+                    "SKU '%s' has sharded stock and only supports single-SKU stock updates", sku.getSkuCode()));
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.BatchReservationRequest;
+import com.ecommerce.inventory.dto.CreateReservationRequest;
+import com.ecommerce.inventory.dto.ReservationDto;
+import com.ecommerce.inventory.entity.ReservationStatus;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.entity.StockReservation;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.mapper.StockReservationMapper;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.ecommerce.inventory.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds stock for carts. A reservation moves units from available to reserved on the SKU and
+ * either confirms (reserved units leave on-hand stock), is released, or expires.
+ * <p>
+ * Expiry is driven by an in-process {@link HierarchicalTimingWheel}: each hold is scheduled once
+ * when its transaction commits and is touched again only when it is due, so the sweeper never
+ * polls the database. Holds still active on startup are re-scheduled from the table.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class StockReservationService {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final StockReservationRepository reservationRepository;
+    private final SkuRepository skuRepository;
+    private final StockReservationMapper reservationMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration defaultTtl;
+    private final long tickMillis;
+    private final HierarchicalTimingWheel<Long> expiryWheel;
+    private final Set<Long> pendingExpiry = ConcurrentHashMap.newKeySet();
+
+    public StockReservationService(StockReservationRepository reservationRepository,
+                                   SkuRepository skuRepository,
+                                   StockReservationMapper reservationMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.reservation.default-ttl:15m}") Duration defaultTtl,
+                                   @Value("${inventory.reservation.tick-millis:100}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.skuRepository = skuRepository;
+        this.reservationMapper = reservationMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultTtl = defaultTtl;
+        this.tickMillis = tickMillis;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    public ReservationDto getReservationById(Long id) {
+        log.info("Fetching reservation with id: {}", id);
+        return reservationMapper.toDto(findReservationById(id));
+    }
+
+    @Transactional
+    public ReservationDto reserve(CreateReservationRequest request) {
+        log.info("Reserving {} units of SKU id: {} for cart: {}", request.getQuantity(), request.getSkuId(), request.getCartId());
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = skuRepository.reserveQuantity(request.getSkuId(), request.getQuantity(), now);
+        if (updated == 0) {
+            Sku sku = skuRepository.findById(request.getSkuId())
+                    .orElseThrow(() -> new ResourceNotFoundException("SKU", "id", request.getSkuId()));
+            StockLines.requireUnsharded(sku);
+            throw new InsufficientStockException(request.getSkuId(), request.getQuantity(),
+                    sku.getQuantity() - sku.getReservedQuantity());
+        }
+
+        StockReservation reservation = StockReservation.builder()
+                .sku(skuRepository.getReferenceById(request.getSkuId()))
+                .cartId(request.getCartId())
+                .quantity(request.getQuantity())
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(now.plus(ttl(request.getTtlSeconds())))
+                .build();
+        StockReservation saved = reservationRepository.save(reservation);
+
+        afterCommit(() -> scheduleExpiry(saved.getId(), saved.getExpiresAt()));
+        log.info("Reservation created with id: {}", saved.getId());
+        return reservationMapper.toDto(saved);
+    }
+
+    /**
+     * Reserves a whole cart in one transaction. The SKU rows are locked in id order and every line
+     * is checked before any stock is held, so the cart is reserved completely or not at all.
+     */
+    @Transactional
+    public List<ReservationDto> reserveBatch(BatchReservationRequest request) {
+        Map<String, Integer> quantities = StockLines.merge(request.getItems());
+        log.info("Reserving {} SKUs for cart: {}", quantities.size(), request.getCartId());
+
+        List<Sku> skus = StockLines.lock(skuRepository, quantities.keySet());
+        StockLines.requireAvailable(skus, quantities);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl(request.getTtlSeconds()));
+        List<StockReservation> reservations = new ArrayList<>(skus.size());
+        for (Sku sku : skus) {
+            int quantity = quantities.get(sku.getSkuCode());
+            sku.setReservedQuantity(sku.getReservedQuantity() + quantity);
+            reservations.add(StockReservation.builder()
+                    .sku(sku)
+                    .cartId(request.getCartId())
+                    .quantity(quantity)
+                    .status(ReservationStatus.ACTIVE)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        List<StockReservation> saved = reservationRepository.saveAll(reservations);
+
+        afterCommit(() -> saved.forEach(reservation -> scheduleExpiry(reservation.getId(), reservation.getExpiresAt())));
+        log.info("Reserved {} SKUs for cart: {}", saved.size(), request.getCartId());
+        return saved.stream()
+                .map(reservationMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public ReservationDto confirm(Long id) {
+        log.info("Confirming reservation with id: {}", id);
+
+        StockReservation reservation = transition(id, ReservationStatus.CONFIRMED);
+        if (skuRepository.commitReservedQuantity(reservation.getSku().getId(), reservation.getQuantity(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Reserved quantity out of sync for SKU id: " + reservation.getSku().getId());
+        }
+
+        afterCommit(() -> pendingExpiry.remove(id));
+        return reservationMapper.toDto(reservation);
+    }
+
+    @Transactional
+    public ReservationDto release(Long id) {
+        log.info("Releasing reservation with id: {}", id);
+
+        StockReservation reservation = transition(id, ReservationStatus.RELEASED);
+        releaseReservedQuantity(reservation);
+
+        afterCommit(() -> pendingExpiry.remove(id));
+        return reservationMapper.toDto(reservation);
+    }
+
+    /**
+     * Advances the expiry wheel and releases every hold that fell due. Each expiry runs in its
+     * own transaction so one failure does not roll back the rest of the sweep.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.tick-millis:100}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void expireReservations() {
+        List<Long> due;
+        synchronized (expiryWheel) {
+            due = expiryWheel.advance(System.currentTimeMillis());
+        }
+
+        for (Long id : due) {
+            if (!pendingExpiry.remove(id)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(id));
+            } catch (RuntimeException ex) {
+                log.error("Failed to expire reservation with id: {}, retrying on next tick", id, ex);
+                pendingExpiry.add(id);
+                synchronized (expiryWheel) {
+                    expiryWheel.schedule(id, System.currentTimeMillis() + tickMillis);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveReservations() {
+        List<StockReservation> active = reservationRepository.findByStatus(ReservationStatus.ACTIVE);
+        active.forEach(reservation -> scheduleExpiry(reservation.getId(), reservation.getExpiresAt()));
+        log.info("Scheduled expiry for {} active reservations", active.size());
+    }
+
+    private void expire(Long id) {
+        reservationRepository.findById(id).ifPresent(reservation -> {
+            if (reservationRepository.transitionStatus(id, ReservationStatus.ACTIVE, ReservationStatus.EXPIRED, LocalDateTime.now()) == 1) {
+                releaseReservedQuantity(reservation);
+                log.info("Reservation expired with id: {}", id);
+            }
+        });
+    }
+
+    private StockReservation transition(Long id, ReservationStatus target) {
+        StockReservation reservation = findReservationById(id);
+        if (reservationRepository.transitionStatus(id, ReservationStatus.ACTIVE, target, LocalDateTime.now()) == 0) {
+            throw new InvalidOperationException(String.format(
+                    "Reservation %d is no longer active and cannot be moved to %s", id, target));
+        }
+        reservation.setStatus(target);
+        return reservation;
+    }
+
+    private void releaseReservedQuantity(StockReservation reservation) {
+        if (skuRepository.releaseReservedQuantity(reservation.getSku().getId(), reservation.getQuantity(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Reserved quantity out of sync for SKU id: " + reservation.getSku().getId());
+        }
+    }
+
+    private void scheduleExpiry(Long id, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        pendingExpiry.add(id);
+        synchronized (expiryWheel) {
+            expiryWheel.schedule(id, deadline);
+        }
+    }
+
+    private Duration ttl(Integer ttlSeconds) {
+        return ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : defaultTtl;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private StockReservation findReservationById(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.inventory.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent stock adjustments for the same SKU. The first adjustment for a SKU opens a
+ * batch that stays open for {@code window-millis}; everything that arrives meanwhile is merged into
+ * one conditional UPDATE of the net change. When that UPDATE would oversell, the batch falls back
+ * to applying each adjustment on its own so only the callers that actually run out fail.
+ * <p>
+ * Within a batch increments are applied before decrements, and each caller is completed with the
+ * level it would have seen had the batch been applied one adjustment at a time in that order.
+ */
+@Component
+@Slf4j
+public class StockUpdateBatcher {
+
+    private final SkuService skuService;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<Key, Batch> openBatches = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSize;
+    private final Timer queueLatency;
+    private final Counter fallbacks;
+
+    public StockUpdateBatcher(SkuService skuService,
+                              MeterRegistry meterRegistry,
+                              @Value("${inventory.stock.batching.enabled:false}") boolean enabled,
+                              @Value("${inventory.stock.batching.window-millis:2}") long windowMillis,
+                              @Value("${inventory.stock.batching.threads:2}") int threads) {
+        this.skuService = skuService;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.executor = enabled ? Executors.newScheduledThreadPool(threads, new BatcherThreadFactory()) : null;
+        this.batchSize = DistributionSummary.builder("inventory.stock.batch.size")
+                .description("Stock adjustments merged into one UPDATE")
+                .register(meterRegistry);
+        this.queueLatency = Timer.builder("inventory.stock.batch.queue.latency")
+                .description("Time a stock adjustment waits before its batch is applied")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("inventory.stock.batch.fallbacks")
+                .description("Batches that had to be applied one adjustment at a time")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a signed stock change and returns a future completed with the resulting on-hand level,
+     * or exceptionally with the same exception the direct path would throw.
+     */
+    public CompletableFuture<Integer> submit(Long productId, Long skuId, int delta) {
+        if (!enabled) {
+            throw new IllegalStateException("Stock update batching is disabled");
+        }
+        Key key = new Key(productId, skuId);
+        Adjustment adjustment = new Adjustment(delta, System.nanoTime(), new CompletableFuture<>());
+
+        while (true) {
+            Batch created = new Batch(key);
+            Batch batch = openBatches.putIfAbsent(key, created);
+            if (batch == null) {
+                batch = created;
+                Batch scheduled = batch;
+                executor.schedule(() -> flush(scheduled), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            if (batch.add(adjustment)) {
+                return adjustment.future();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void flush(Batch batch) {
+        openBatches.remove(batch.key(), batch);
+        List<Adjustment> adjustments = batch.close();
+        adjustments.sort(Comparator.comparing(adjustment -> adjustment.delta() < 0));
+
+        long now = System.nanoTime();
+        batchSize.record(adjustments.size());
+        adjustments.forEach(adjustment -> queueLatency.record(now - adjustment.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        try {
+            if (adjustments.size() > 1 && applyMerged(batch.key(), adjustments)) {
+                return;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Merged stock update failed for SKU id: {}, applying adjustments individually", batch.key().skuId(), ex);
+        }
+
+        if (adjustments.size() > 1) {
+            fallbacks.increment();
+        }
+        adjustments.forEach(adjustment -> applyIndividually(batch.key(), adjustment));
+    }
+
+    private boolean applyMerged(Key key, List<Adjustment> adjustments) {
+        int net = adjustments.stream().mapToInt(Adjustment::delta).reduce(0, Math::addExact);
+        Optional<Integer> level = skuService.adjustStock(key.productId(), key.skuId(), net);
+        if (level.isEmpty()) {
+            return false;
+        }
+
+        int current = level.get();
+        for (int i = adjustments.size() - 1; i >= 0; i--) {
+            adjustments.get(i).future().complete(current);
+            current -= adjustments.get(i).delta();
+        }
+        return true;
+    }
+
+    private void applyIndividually(Key key, Adjustment adjustment) {
+        try {
+            int delta = adjustment.delta();
+            int level = delta < 0
+                    ? skuService.decrementStock(key.productId(), key.skuId(), -delta).getQuantity()
+                    : skuService.incrementStock(key.productId(), key.skuId(), delta).getQuantity();
+            adjustment.future().complete(level);
+        } catch (RuntimeException ex) {
+            adjustment.future().completeExceptionally(ex);
+        }
+    }
+
+    private record Key(Long productId, Long skuId) {
+    }
+
+    private record Adjustment(int delta, long enqueuedAt, CompletableFuture<Integer> future) {
+    }
+
+    private static final class Batch {
+
+        private final Key key;
+        private final List<Adjustment> adjustments = new ArrayList<>();
+        private boolean closed;
+
+        private Batch(Key key) {
+            this.key = key;
+        }
+
+        Key key() {
+            return key;
+        }
+
+        synchronized boolean add(Adjustment adjustment) {
+            if (closed) {
+                return false;
+            }
+            adjustments.add(adjustment);
+            return true;
+        }
+
+        synchronized List<Adjustment> close() {
+            closed = true;
+            return adjustments;
+        }
+    }
+
+    private static final class BatcherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "stock-batcher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
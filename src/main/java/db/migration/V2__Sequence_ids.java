@@ -0,0 +1,37 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Moves the baseline tables from identity columns to the {@code <table>_seq} sequences the
+ * entities allocate ids from (pooled-lo, 50 at a time). Each sequence starts above the table's
+ * highest id, which is only known at migration time, hence Java rather than SQL.
+ */
+public class V2__Sequence_ids extends BaseJavaMigration {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of("categories", "products", "skus");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long start;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    start = rs.getLong(1);
+                }
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + start
+                        + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
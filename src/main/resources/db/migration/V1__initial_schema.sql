@@ -0,0 +1,41 @@
+-- Schema as deployed before Flyway took over: identity ids, no optimistic lock versions and no
+-- stock reservation or shard tables. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and pick up everything from V2 on.
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE products (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name        VARCHAR(255)   NOT NULL,
+    description VARCHAR(1000),
+    base_price  NUMERIC(10, 2) NOT NULL,
+    brand       VARCHAR(255)   NOT NULL,
+    category_id BIGINT         NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_products PRIMARY KEY (id),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE skus (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sku_code    VARCHAR(255)   NOT NULL,
+    name        VARCHAR(255)   NOT NULL,
+    attributes  VARCHAR(500),
+    price       NUMERIC(10, 2) NOT NULL,
+    quantity    INTEGER        NOT NULL,
+    product_id  BIGINT         NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_skus PRIMARY KEY (id),
+    CONSTRAINT uk_skus_sku_code UNIQUE (sku_code),
+    CONSTRAINT fk_skus_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,36 @@
+-- Optimistic lock versions; they also feed the ETags.
+ALTER TABLE categories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE skus ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Units held by active reservations, and the number of stock shards (0 when not sharded).
+ALTER TABLE skus ADD COLUMN reserved_quantity INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE skus ADD COLUMN shard_count INTEGER NOT NULL DEFAULT 0;
+
+-- New tables: sequences step by 50 to match the entities' allocationSize (pooled-lo).
+CREATE SEQUENCE stock_reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE sku_stock_shards_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_reservations (
+    id         BIGINT       NOT NULL,
+    sku_id     BIGINT       NOT NULL,
+    cart_id    VARCHAR(100) NOT NULL,
+    quantity   INTEGER      NOT NULL,
+    status     VARCHAR(20)  NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_stock_reservations PRIMARY KEY (id),
+    CONSTRAINT fk_stock_reservations_sku FOREIGN KEY (sku_id) REFERENCES skus (id) ON DELETE CASCADE,
+    CONSTRAINT ck_stock_reservations_status CHECK (status IN ('ACTIVE', 'CONFIRMED', 'RELEASED', 'EXPIRED'))
+);
+
+CREATE TABLE sku_stock_shards (
+    id          BIGINT  NOT NULL,
+    sku_id      BIGINT  NOT NULL,
+    shard_index INTEGER NOT NULL,
+    quantity    INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_sku_stock_shards PRIMARY KEY (id),
+    CONSTRAINT uk_sku_stock_shards_sku_shard UNIQUE (sku_id, shard_index),
+    CONSTRAINT fk_sku_stock_shards_sku FOREIGN KEY (sku_id) REFERENCES skus (id) ON DELETE CASCADE
+);
@@ -0,0 +1,15 @@
+-- Indexes behind the hot query paths.
+
+-- Default listing order and keyset pagination.
+CREATE INDEX idx_products_created_at_id ON products (created_at DESC, id DESC);
+-- Listing filtered by category, in listing order.
+CREATE INDEX idx_products_category_created_at_id ON products (category_id, created_at DESC, id DESC);
+-- Duplicate-name checks on create and update.
+CREATE INDEX idx_products_name_category ON products (name, category_id);
+
+-- SKUs of a product, and SKU lookups scoped to a product.
+CREATE INDEX idx_skus_product_id_id ON skus (product_id, id);
+
+-- Reservation sweeps by status and reservations of a SKU.
+CREATE INDEX idx_stock_reservations_status ON stock_reservations (status);
+CREATE INDEX idx_stock_reservations_sku_id ON stock_reservations (sku_id);
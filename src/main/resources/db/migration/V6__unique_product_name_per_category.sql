@@ -0,0 +1,6 @@
+-- One product per name within a category, so concurrent imports and creates cannot both insert it.
+-- The constraint's index also serves the duplicate-name checks, replacing the plain one from V4.
+-- Any duplicates already present have to be merged before this runs.
+
+DROP INDEX idx_products_name_category;
+ALTER TABLE products ADD CONSTRAINT uk_products_category_name UNIQUE (category_id, name);
@@ -0,0 +1,109 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.ImportJobDto;
+import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.service.CatalogImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportControllerTest {
+
+    @Mock
+    private CatalogImportService catalogImportService;
+
+    @InjectMocks
+    private CatalogImportController catalogImportController;
+
+    private MockMvc mockMvc;
+    private ImportJobDto job;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(catalogImportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        job = ImportJobDto.builder()
+                .id("job-1")
+                .status(ImportJobDto.Status.QUEUED)
+                .errors(Collections.emptyList())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/imports/catalog")
+    class ImportCatalogTests {
+
+        @Test
+        @DisplayName("Should queue the import and point to the job")
+        void shouldQueueImport() throws Exception {
+            when(catalogImportService.startImport(any(InputStream.class))).thenReturn(job);
+
+            mockMvc.perform(post("/api/v1/imports/catalog")
+                            .contentType("text/csv")
+                            .content("category,product_name\n"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/api/v1/imports/job-1"))
+                    .andExpect(jsonPath("$.data.id").value("job-1"))
+                    .andExpect(jsonPath("$.data.status").value("QUEUED"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the header is invalid")
+        void shouldReturn400ForInvalidHeader() throws Exception {
+            when(catalogImportService.startImport(any(InputStream.class)))
+                    .thenThrow(new InvalidOperationException("CSV header is missing columns: brand"));
+
+            mockMvc.perform(post("/api/v1/imports/catalog")
+                            .contentType("text/csv")
+                            .content("category\n"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/imports/{id}")
+    class GetImportJobTests {
+
+        @Test
+        @DisplayName("Should return the import job")
+        void shouldReturnJob() throws Exception {
+            when(catalogImportService.getImportJob("job-1")).thenReturn(job);
+
+            mockMvc.perform(get("/api/v1/imports/job-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.id").value("job-1"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the job is unknown")
+        void shouldReturn404WhenNotFound() throws Exception {
+            when(catalogImportService.getImportJob("unknown"))
+                    .thenThrow(new ResourceNotFoundException("Import job", "id", "unknown"));
+
+            mockMvc.perform(get("/api/v1/imports/unknown"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+}
@@ -15,10 +15,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -60,14 +62,27 @@ class CategoryControllerTest {
     class GetAllCategoriesTests {
 
         @Test
-        @DisplayName("Should return all categories")
+        @DisplayName("Should return paginated categories")
         void shouldReturnAllCategories() throws Exception {
-            when(categoryService.getAllCategories()).thenReturn(List.of(categoryDto));
+            PagedResponse<CategoryDto> pagedResponse = PagedResponse.<CategoryDto>builder()
+                    .content(List.of(categoryDto))
+                    .page(0)
+                    .pageSize(10)
+                    .totalElements(1L)
+                    .totalPages(1)
+                    .first(true)
+                    .last(true)
+                    .build();
+
+            when(categoryService.getAllCategories(0, 10)).thenReturn(pagedResponse);
 
-            mockMvc.perform(get("/api/v1/categories"))
+            mockMvc.perform(get("/api/v1/categories")
+                            .param("page", "0")
+                            .param("pageSize", "10"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
-                    .andExpect(jsonPath("$.data[0].name").value("Electronics"));
+                    .andExpect(jsonPath("$.data.content[0].name").value("Electronics"))
+                    .andExpect(jsonPath("$.data.totalElements").value(1));
         }
     }
 
@@ -78,6 +93,7 @@ class CategoryControllerTest {
         @Test
         @DisplayName("Should return category when found")
         void shouldReturnCategoryWhenFound() throws Exception {
+            when(categoryService.getCategoryStamp(1L)).thenReturn(ResourceStamp.builder().etag("0.4").build());
             when(categoryService.getCategoryById(1L)).thenReturn(categoryDto);
 
             mockMvc.perform(get("/api/v1/categories/1"))
@@ -89,13 +105,27 @@ class CategoryControllerTest {
         @Test
         @DisplayName("Should return 404 when category not found")
         void shouldReturn404WhenCategoryNotFound() throws Exception {
-            when(categoryService.getCategoryById(999L))
+            when(categoryService.getCategoryStamp(999L))
                     .thenThrow(new ResourceNotFoundException("Category", "id", 999L));
 
             mockMvc.perform(get("/api/v1/categories/999"))
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.success").value(false));
         }
+
+        @Test
+        @DisplayName("Should return 304 when not modified since If-Modified-Since")
+        void shouldReturn304WhenNotModifiedSince() throws Exception {
+            when(categoryService.getCategoryStamp(1L)).thenReturn(ResourceStamp.builder()
+                    .etag("0.4")
+                    .lastModified(LocalDateTime.of(2024, 1, 1, 10, 0))
+                    .build());
+
+            mockMvc.perform(get("/api/v1/categories/1")
+                            .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 01 Jan 2030 00:00:00 GMT"))
+                    .andExpect(status().isNotModified());
+            verify(categoryService, never()).getCategoryById(any());
+        }
     }
 
     @Nested
@@ -1,8 +1,12 @@
 package com.ecommerce.inventory.controller;
 
 import com.ecommerce.inventory.dto.*;
+import com.ecommerce.inventory.entity.Product;
 import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.service.CatalogExportService;
+import com.ecommerce.inventory.service.OptimisticLockRetryPolicy;
 import com.ecommerce.inventory.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,14 +16,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +43,12 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private CatalogExportService catalogExportService;
+
+    @Spy
+    private OptimisticLockRetryPolicy retryPolicy = new OptimisticLockRetryPolicy(3, Duration.ZERO, Duration.ZERO);
+
     @InjectMocks
     private ProductController productController;
 
@@ -68,13 +86,13 @@ class ProductControllerTest {
                     .content(List.of(productDto))
                     .page(0)
                     .pageSize(10)
-                    .totalElements(1)
+                    .totalElements(1L)
                     .totalPages(1)
                     .first(true)
                     .last(true)
                     .build();
 
-            when(productService.getAllProducts(any(), any(), anyInt(), anyInt())).thenReturn(pagedResponse);
+            when(productService.getAllProducts(any(), any(), anyInt(), anyInt(), isNull(), eq(TotalsMode.EXACT))).thenReturn(pagedResponse);
 
             mockMvc.perform(get("/api/v1/products")
                             .param("page", "0")
@@ -91,19 +109,97 @@ class ProductControllerTest {
                     .content(List.of(productDto))
                     .page(0)
                     .pageSize(10)
-                    .totalElements(1)
+                    .totalElements(1L)
                     .totalPages(1)
                     .first(true)
                     .last(true)
                     .build();
 
-            when(productService.getAllProducts(eq("iPhone"), any(), anyInt(), anyInt())).thenReturn(pagedResponse);
+            when(productService.getAllProducts(eq("iPhone"), any(), anyInt(), anyInt(), isNull(), eq(TotalsMode.EXACT))).thenReturn(pagedResponse);
 
             mockMvc.perform(get("/api/v1/products")
                             .param("name", "iPhone"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data.content[0].name").value("iPhone 15"));
         }
+
+        @Test
+        @DisplayName("Should pass cursor through and return next cursor without totals")
+        void shouldReturnKeysetPage() throws Exception {
+            PagedResponse<ProductDto> pagedResponse = PagedResponse.<ProductDto>builder()
+                    .content(List.of(productDto))
+                    .pageSize(10)
+                    .first(false)
+                    .last(false)
+                    .nextCursor("next-token")
+                    .build();
+
+            when(productService.getAllProducts(any(), any(), anyInt(), eq(10), eq("token"), any())).thenReturn(pagedResponse);
+
+            mockMvc.perform(get("/api/v1/products")
+                            .param("cursor", "token"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.data.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.data.page").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should pass totals mode through")
+        void shouldPassTotalsModeThrough() throws Exception {
+            PagedResponse<ProductDto> pagedResponse = PagedResponse.<ProductDto>builder()
+                    .content(List.of(productDto))
+                    .page(0)
+                    .pageSize(10)
+                    .first(true)
+                    .last(false)
+                    .totals(TotalsMode.NONE)
+                    .build();
+
+            when(productService.getAllProducts(any(), any(), anyInt(), anyInt(), isNull(), eq(TotalsMode.NONE)))
+                    .thenReturn(pagedResponse);
+
+            mockMvc.perform(get("/api/v1/products")
+                            .param("totals", "none"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.totals").value("none"))
+                    .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for unknown totals mode")
+        void shouldReturn400ForUnknownTotalsMode() throws Exception {
+            mockMvc.perform(get("/api/v1/products")
+                            .param("totals", "sometimes"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/products/export")
+    class ExportProductsTests {
+
+        @Test
+        @DisplayName("Should stream the export as NDJSON")
+        void shouldStreamExport() throws Exception {
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(0);
+                out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(catalogExportService).exportCatalog(any(OutputStream.class));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/products/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+            verifyNoInteractions(productService);
+        }
     }
 
     @Nested
@@ -113,24 +209,50 @@ class ProductControllerTest {
         @Test
         @DisplayName("Should return product when found")
         void shouldReturnProductWhenFound() throws Exception {
-            when(productService.getProductById(1L)).thenReturn(productDto);
+            ResourceStamp stamp = ResourceStamp.builder().etag("3.1.2").build();
+            when(productService.getProductStamp(1L)).thenReturn(stamp);
+            when(productService.getStampedProductById(1L)).thenReturn(new Stamped<>(productDto, stamp));
 
             mockMvc.perform(get("/api/v1/products/1"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3.1.2\""))
                     .andExpect(jsonPath("$.success").value(true))
                     .andExpect(jsonPath("$.data.name").value("iPhone 15"));
         }
 
+        @Test
+        @DisplayName("Should tag the body with the stamp read with it when the product changed in between")
+        void shouldTagBodyWithItsOwnStamp() throws Exception {
+            when(productService.getProductStamp(1L)).thenReturn(ResourceStamp.builder().etag("3.1.2").build());
+            when(productService.getStampedProductById(1L))
+                    .thenReturn(new Stamped<>(productDto, ResourceStamp.builder().etag("4.1.2").build()));
+
+            mockMvc.perform(get("/api/v1/products/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, "\"4.1.2\""));
+        }
+
         @Test
         @DisplayName("Should return 404 when product not found")
         void shouldReturn404WhenProductNotFound() throws Exception {
-            when(productService.getProductById(999L))
+            when(productService.getProductStamp(999L))
                     .thenThrow(new ResourceNotFoundException("Product", "id", 999L));
 
             mockMvc.perform(get("/api/v1/products/999"))
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.success").value(false));
         }
+
+        @Test
+        @DisplayName("Should return 304 without loading the product when the ETag matches")
+        void shouldReturn304WhenETagMatches() throws Exception {
+            when(productService.getProductStamp(1L)).thenReturn(ResourceStamp.builder().etag("3.1.2").build());
+
+            mockMvc.perform(get("/api/v1/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"3.1.2\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            verify(productService, never()).getStampedProductById(any());
+        }
     }
 
     @Nested
@@ -184,7 +306,7 @@ class ProductControllerTest {
                     .basePrice(new BigDecimal("1099.99"))
                     .build();
 
-            when(productService.updateProduct(eq(1L), any(UpdateProductRequest.class))).thenReturn(productDto);
+            when(productService.updateProduct(eq(1L), any(UpdateProductRequest.class), isNull())).thenReturn(productDto);
 
             mockMvc.perform(put("/api/v1/products/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -192,6 +314,50 @@ class ProductControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true));
         }
+
+        @Test
+        @DisplayName("Should pass If-Match version and return new ETag")
+        void shouldPassIfMatchVersionAndReturnETag() throws Exception {
+            UpdateProductRequest request = UpdateProductRequest.builder().name("iPhone 15 Pro").build();
+            productDto.setVersion(4L);
+            when(productService.updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L))).thenReturn(productDto);
+
+            mockMvc.perform(put("/api/v1/products/1")
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        }
+
+        @Test
+        @DisplayName("Should return 412 when If-Match is stale")
+        void shouldReturn412WhenIfMatchStale() throws Exception {
+            UpdateProductRequest request = UpdateProductRequest.builder().name("iPhone 15 Pro").build();
+            when(productService.updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L)))
+                    .thenThrow(new PreconditionFailedException("Product", 1L, 3L, 4L));
+
+            mockMvc.perform(put("/api/v1/products/1")
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed());
+            verify(productService, times(1)).updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L));
+        }
+
+        @Test
+        @DisplayName("Should retry without If-Match and return 409 when conflicts persist")
+        void shouldRetryWithoutIfMatch() throws Exception {
+            UpdateProductRequest request = UpdateProductRequest.builder().name("iPhone 15 Pro").build();
+            when(productService.updateProduct(eq(1L), any(UpdateProductRequest.class), isNull()))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+            mockMvc.perform(put("/api/v1/products/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict());
+            verify(productService, times(3)).updateProduct(eq(1L), any(UpdateProductRequest.class), isNull());
+        }
     }
 
     @Nested
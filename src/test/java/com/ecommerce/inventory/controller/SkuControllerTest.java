@@ -3,8 +3,14 @@ package com.ecommerce.inventory.controller;
 import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
 import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.InsufficientStockException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.service.OptimisticLockRetryPolicy;
+import com.ecommerce.inventory.service.ShardedStockService;
+import com.ecommerce.inventory.service.SkuIngestService;
 import com.ecommerce.inventory.service.SkuService;
+import com.ecommerce.inventory.service.StockAdjustmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +19,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -32,6 +43,18 @@ class SkuControllerTest {
     @Mock
     private SkuService skuService;
 
+    @Mock
+    private SkuIngestService skuIngestService;
+
+    @Mock
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Spy
+    private OptimisticLockRetryPolicy retryPolicy = new OptimisticLockRetryPolicy(3, Duration.ZERO, Duration.ZERO);
+
     @InjectMocks
     private SkuController skuController;
 
@@ -92,6 +115,7 @@ class SkuControllerTest {
         @Test
         @DisplayName("Should return SKU when found")
         void shouldReturnSkuWhenFound() throws Exception {
+            when(skuService.getSkuStamp(1L, 1L)).thenReturn(ResourceStamp.builder().etag("7.3").build());
             when(skuService.getSkuById(1L, 1L)).thenReturn(skuDto);
 
             mockMvc.perform(get("/api/v1/products/1/skus/1"))
@@ -103,13 +127,23 @@ class SkuControllerTest {
         @Test
         @DisplayName("Should return 404 when SKU not found")
         void shouldReturn404WhenSkuNotFound() throws Exception {
-            when(skuService.getSkuById(1L, 999L))
+            when(skuService.getSkuStamp(1L, 999L))
                     .thenThrow(new ResourceNotFoundException("SKU not found with id: 999 for product id: 1"));
 
             mockMvc.perform(get("/api/v1/products/1/skus/999"))
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.success").value(false));
         }
+
+        @Test
+        @DisplayName("Should return 304 when the SKU is unchanged")
+        void shouldReturn304WhenETagMatches() throws Exception {
+            when(skuService.getSkuStamp(1L, 1L)).thenReturn(ResourceStamp.builder().etag("7.3").build());
+
+            mockMvc.perform(get("/api/v1/products/1/skus/1").header(HttpHeaders.IF_NONE_MATCH, "\"7.3\""))
+                    .andExpect(status().isNotModified());
+            verify(skuService, never()).getSkuById(any(), any());
+        }
     }
 
     @Nested
@@ -171,6 +205,120 @@ class SkuControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/products/{productId}/skus/bulk")
+    class BulkCreateSkuTests {
+
+        @Test
+        @DisplayName("Should return per-item results")
+        void shouldReturnPerItemResults() throws Exception {
+            CreateSkuRequest request = CreateSkuRequest.builder()
+                    .skuCode("IPHONE15-128-BLK")
+                    .name("iPhone 15 - 128GB - Black")
+                    .price(new BigDecimal("999.99"))
+                    .quantity(100)
+                    .build();
+            BulkSkuResult result = BulkSkuResult.builder()
+                    .requested(1)
+                    .created(1)
+                    .failed(0)
+                    .results(List.of(BulkSkuItemResult.builder()
+                            .index(0)
+                            .skuCode("IPHONE15-128-BLK")
+                            .status(BulkSkuItemResult.Status.CREATED)
+                            .sku(skuDto)
+                            .build()))
+                    .build();
+
+            when(skuService.createSkus(eq(1L), anyList())).thenReturn(result);
+
+            mockMvc.perform(post("/api/v1/products/1/skus/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BulkCreateSkuRequest(List.of(request)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.created").value(1))
+                    .andExpect(jsonPath("$.data.results[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.data.results[0].sku.skuCode").value("IPHONE15-128-BLK"));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when a SKU code is taken concurrently")
+        void shouldReturn409WhenSkuCodeTakenConcurrently() throws Exception {
+            CreateSkuRequest request = CreateSkuRequest.builder()
+                    .skuCode("IPHONE15-128-BLK")
+                    .name("iPhone 15 - 128GB - Black")
+                    .price(new BigDecimal("999.99"))
+                    .quantity(100)
+                    .build();
+            when(skuService.createSkus(eq(1L), anyList()))
+                    .thenThrow(new DataIntegrityViolationException("uk_skus_sku_code"));
+
+            mockMvc.perform(post("/api/v1/products/1/skus/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BulkCreateSkuRequest(List.of(request)))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when an item is invalid")
+        void shouldReturn400WhenItemInvalid() throws Exception {
+            CreateSkuRequest invalid = CreateSkuRequest.builder()
+                    .skuCode("")
+                    .build();
+
+            mockMvc.perform(post("/api/v1/products/1/skus/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BulkCreateSkuRequest(List.of(invalid)))))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(skuService);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/products/{productId}/skus/bulk/stream")
+    class StreamBulkCreateSkuTests {
+
+        @Test
+        @DisplayName("Should return counts and failed items")
+        void shouldReturnCountsAndFailures() throws Exception {
+            BulkSkuResult result = BulkSkuResult.builder()
+                    .requested(2)
+                    .created(1)
+                    .failed(1)
+                    .results(List.of(BulkSkuItemResult.builder()
+                            .index(1)
+                            .skuCode("IPHONE15-128-BLK")
+                            .status(BulkSkuItemResult.Status.FAILED)
+                            .error("Duplicate skuCode 'IPHONE15-128-BLK' in request")
+                            .build()))
+                    .build();
+
+            when(skuIngestService.ingestSkus(eq(1L), any(InputStream.class))).thenReturn(result);
+
+            mockMvc.perform(post("/api/v1/products/1/skus/bulk/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.created").value(1))
+                    .andExpect(jsonPath("$.data.results[0].index").value(1))
+                    .andExpect(jsonPath("$.data.results[0].status").value("FAILED"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the body is malformed")
+        void shouldReturn400WhenMalformed() throws Exception {
+            when(skuIngestService.ingestSkus(eq(1L), any(InputStream.class)))
+                    .thenThrow(new InvalidOperationException("Request body must be a JSON array of SKUs"));
+
+            mockMvc.perform(post("/api/v1/products/1/skus/bulk/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/v1/products/{productId}/skus/{skuId}")
     class UpdateSkuTests {
@@ -183,7 +331,7 @@ class SkuControllerTest {
                     .quantity(150)
                     .build();
 
-            when(skuService.updateSku(eq(1L), eq(1L), any(UpdateSkuRequest.class))).thenReturn(skuDto);
+            when(skuService.updateSku(eq(1L), eq(1L), any(UpdateSkuRequest.class), isNull())).thenReturn(skuDto);
 
             mockMvc.perform(put("/api/v1/products/1/skus/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -191,6 +339,87 @@ class SkuControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true));
         }
+
+        @Test
+        @DisplayName("Should pass If-Match version and return new ETag")
+        void shouldPassIfMatchVersionAndReturnETag() throws Exception {
+            UpdateSkuRequest request = UpdateSkuRequest.builder().quantity(150).build();
+            skuDto.setVersion(8L);
+            when(skuService.updateSku(eq(1L), eq(1L), any(UpdateSkuRequest.class), eq(7L))).thenReturn(skuDto);
+
+            mockMvc.perform(put("/api/v1/products/1/skus/1")
+                            .header(HttpHeaders.IF_MATCH, "\"7\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+        }
+
+        @Test
+        @DisplayName("Should return 412 for a malformed If-Match")
+        void shouldReturn412ForMalformedIfMatch() throws Exception {
+            UpdateSkuRequest request = UpdateSkuRequest.builder().quantity(150).build();
+
+            mockMvc.perform(put("/api/v1/products/1/skus/1")
+                            .header(HttpHeaders.IF_MATCH, "W/\"7\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed());
+            verifyNoInteractions(skuService);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/products/{productId}/skus/{skuId}/stock")
+    class StockAdjustmentTests {
+
+        @Test
+        @DisplayName("Should decrement stock successfully")
+        void shouldDecrementStockSuccessfully() throws Exception {
+            when(stockAdjustmentService.decrementStock(1L, 1L, 5)).thenReturn(StockLevelDto.builder().skuId(1L).quantity(95).build());
+
+            mockMvc.perform(post("/api/v1/products/1/skus/1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockAdjustmentRequest(5))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.skuId").value(1))
+                    .andExpect(jsonPath("$.data.quantity").value(95));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when stock is insufficient")
+        void shouldReturn409WhenStockInsufficient() throws Exception {
+            when(stockAdjustmentService.decrementStock(1L, 1L, 500))
+                    .thenThrow(new InsufficientStockException(1L, 500, 100));
+
+            mockMvc.perform(post("/api/v1/products/1/skus/1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockAdjustmentRequest(500))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for non-positive quantity")
+        void shouldReturn400ForNonPositiveQuantity() throws Exception {
+            mockMvc.perform(post("/api/v1/products/1/skus/1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockAdjustmentRequest(0))))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(stockAdjustmentService);
+        }
+
+        @Test
+        @DisplayName("Should increment stock successfully")
+        void shouldIncrementStockSuccessfully() throws Exception {
+            when(stockAdjustmentService.incrementStock(1L, 1L, 10)).thenReturn(StockLevelDto.builder().skuId(1L).quantity(110).build());
+
+            mockMvc.perform(post("/api/v1/products/1/skus/1/stock/increment")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockAdjustmentRequest(10))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.quantity").value(110));
+        }
     }
 
     @Nested
@@ -218,5 +447,45 @@ class SkuControllerTest {
                     .andExpect(jsonPath("$.success").value(false));
         }
     }
-}
 
+    @Nested
+    @DisplayName("PUT /api/v1/products/{productId}/skus/{skuId}/stock/shards")
+    class ShardStockTests {
+
+        @Test
+        @DisplayName("Should shard SKU stock")
+        void shouldShardStock() throws Exception {
+            skuDto.setShardCount(8);
+            when(shardedStockService.enableSharding(1L, 1L, 8)).thenReturn(skuDto);
+
+            mockMvc.perform(put("/api/v1/products/1/skus/1/stock/shards")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ShardStockRequest(8))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.shardCount").value(8));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when SKU has reserved stock")
+        void shouldReturn400WhenSkuHasReservedStock() throws Exception {
+            when(shardedStockService.enableSharding(1L, 1L, 8))
+                    .thenThrow(new InvalidOperationException("SKU 1 has 2 units reserved; sharded SKUs cannot hold reservations"));
+
+            mockMvc.perform(put("/api/v1/products/1/skus/1/stock/shards")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ShardStockRequest(8))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for too many shards")
+        void shouldReturn400ForTooManyShards() throws Exception {
+            mockMvc.perform(put("/api/v1/products/1/skus/1/stock/shards")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ShardStockRequest(65))))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(shardedStockService);
+        }
+    }
+}
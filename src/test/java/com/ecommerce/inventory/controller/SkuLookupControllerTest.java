@@ -0,0 +1,114 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.SkuCodesRequest;
+import com.ecommerce.inventory.dto.SkuDto;
+import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.service.SkuService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkuLookupControllerTest {
+
+    @Mock
+    private SkuService skuService;
+
+    @InjectMocks
+    private SkuLookupController skuLookupController;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private SkuDto skuDto;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(skuLookupController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+
+        skuDto = SkuDto.builder()
+                .id(1L)
+                .skuCode("IPHONE15-128-BLK")
+                .quantity(100)
+                .reservedQuantity(0)
+                .productId(1L)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/skus/by-code/{skuCode}")
+    class GetSkuByCodeTests {
+
+        @Test
+        @DisplayName("Should return SKU when found")
+        void shouldReturnSkuWhenFound() throws Exception {
+            when(skuService.getSkuByCode("IPHONE15-128-BLK")).thenReturn(skuDto);
+
+            mockMvc.perform(get("/api/v1/skus/by-code/IPHONE15-128-BLK"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.id").value(1))
+                    .andExpect(jsonPath("$.data.quantity").value(100));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when SKU code not found")
+        void shouldReturn404WhenNotFound() throws Exception {
+            when(skuService.getSkuByCode("UNKNOWN"))
+                    .thenThrow(new ResourceNotFoundException("SKU", "skuCode", "UNKNOWN"));
+
+            mockMvc.perform(get("/api/v1/skus/by-code/UNKNOWN"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/skus/by-code")
+    class GetSkusByCodesTests {
+
+        @Test
+        @DisplayName("Should return the SKUs found")
+        void shouldReturnSkusFound() throws Exception {
+            List<String> skuCodes = List.of("IPHONE15-128-BLK", "UNKNOWN");
+            when(skuService.getSkusByCodes(skuCodes)).thenReturn(List.of(skuDto));
+
+            mockMvc.perform(post("/api/v1/skus/by-code")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SkuCodesRequest(skuCodes))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.data[0].skuCode").value("IPHONE15-128-BLK"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when more than 1000 codes are requested")
+        void shouldReturn400WhenTooManyCodes() throws Exception {
+            SkuCodesRequest request = new SkuCodesRequest(Collections.nCopies(1001, "IPHONE15-128-BLK"));
+
+            mockMvc.perform(post("/api/v1/skus/by-code")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(skuService);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.BatchStockRequest;
+import com.ecommerce.inventory.dto.StockLevelDto;
+import com.ecommerce.inventory.dto.StockLineRequest;
+import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.service.SkuService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockControllerTest {
+
+    @Mock
+    private SkuService skuService;
+
+    @InjectMocks
+    private StockController stockController;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private BatchStockRequest request;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+
+        request = new BatchStockRequest(List.of(
+                new StockLineRequest("IPHONE15-128-BLK", 2),
+                new StockLineRequest("IPHONE15-256-WHT", 1)));
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/stock/decrement")
+    class DecrementTests {
+
+        @Test
+        @DisplayName("Should decrement every line successfully")
+        void shouldDecrementEveryLine() throws Exception {
+            when(skuService.decrementStockBatch(anyList())).thenReturn(List.of(
+                    new StockLevelDto(1L, "IPHONE15-128-BLK", 98),
+                    new StockLevelDto(2L, "IPHONE15-256-WHT", 49)));
+
+            mockMvc.perform(post("/api/v1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].skuCode").value("IPHONE15-128-BLK"))
+                    .andExpect(jsonPath("$.data[1].quantity").value(49));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when one line is short")
+        void shouldReturn409WhenOneLineShort() throws Exception {
+            when(skuService.decrementStockBatch(anyList()))
+                    .thenThrow(new InsufficientStockException("IPHONE15-256-WHT", 1, 0));
+
+            mockMvc.perform(post("/api/v1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a line is invalid")
+        void shouldReturn400WhenLineInvalid() throws Exception {
+            request.getItems().get(0).setQuantity(0);
+
+            mockMvc.perform(post("/api/v1/stock/decrement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(skuService);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.inventory.controller;
+
+import com.ecommerce.inventory.dto.BatchReservationRequest;
+import com.ecommerce.inventory.dto.CreateReservationRequest;
+import com.ecommerce.inventory.dto.ReservationDto;
+import com.ecommerce.inventory.dto.StockLineRequest;
+import com.ecommerce.inventory.entity.ReservationStatus;
+import com.ecommerce.inventory.exception.GlobalExceptionHandler;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.service.StockReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationControllerTest {
+
+    @Mock
+    private StockReservationService reservationService;
+
+    @InjectMocks
+    private StockReservationController reservationController;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private ReservationDto reservationDto;
+    private CreateReservationRequest createRequest;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reservationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+
+        reservationDto = ReservationDto.builder()
+                .id(1L)
+                .skuId(1L)
+                .cartId("cart-1")
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .build();
+
+        createRequest = CreateReservationRequest.builder()
+                .skuId(1L)
+                .cartId("cart-1")
+                .quantity(2)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/reservations")
+    class ReserveTests {
+
+        @Test
+        @DisplayName("Should reserve stock successfully")
+        void shouldReserveStockSuccessfully() throws Exception {
+            when(reservationService.reserve(any(CreateReservationRequest.class))).thenReturn(reservationDto);
+
+            mockMvc.perform(post("/api/v1/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createRequest)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.status").value("ACTIVE"))
+                    .andExpect(jsonPath("$.data.cartId").value("cart-1"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when cart ID is missing")
+        void shouldReturn400WhenCartIdMissing() throws Exception {
+            createRequest.setCartId(null);
+
+            mockMvc.perform(post("/api/v1/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createRequest)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.data.cartId").exists());
+        }
+
+        @Test
+        @DisplayName("Should return 409 when stock is insufficient")
+        void shouldReturn409WhenStockInsufficient() throws Exception {
+            when(reservationService.reserve(any(CreateReservationRequest.class)))
+                    .thenThrow(new InsufficientStockException(1L, 2, 1));
+
+            mockMvc.perform(post("/api/v1/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createRequest)))
+                    .andExpect(status().isConflict());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/reservations/batch")
+    class ReserveBatchTests {
+
+        @Test
+        @DisplayName("Should reserve a cart successfully")
+        void shouldReserveCartSuccessfully() throws Exception {
+            BatchReservationRequest request = BatchReservationRequest.builder()
+                    .cartId("cart-1")
+                    .items(List.of(new StockLineRequest("IPHONE15-128-BLK", 2)))
+                    .build();
+            when(reservationService.reserveBatch(any(BatchReservationRequest.class))).thenReturn(List.of(reservationDto));
+
+            mockMvc.perform(post("/api/v1/reservations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data[0].skuId").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when items are empty")
+        void shouldReturn400WhenItemsEmpty() throws Exception {
+            BatchReservationRequest request = BatchReservationRequest.builder()
+                    .cartId("cart-1")
+                    .items(List.of())
+                    .build();
+
+            mockMvc.perform(post("/api/v1/reservations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(reservationService);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/reservations/{id}/confirm|release")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("Should confirm reservation successfully")
+        void shouldConfirmReservationSuccessfully() throws Exception {
+            reservationDto.setStatus(ReservationStatus.CONFIRMED);
+            when(reservationService.confirm(1L)).thenReturn(reservationDto);
+
+            mockMvc.perform(post("/api/v1/reservations/1/confirm"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when releasing an inactive reservation")
+        void shouldReturn400WhenReleasingInactiveReservation() throws Exception {
+            when(reservationService.release(1L))
+                    .thenThrow(new InvalidOperationException("Reservation 1 is no longer active"));
+
+            mockMvc.perform(post("/api/v1/reservations/1/release"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+}
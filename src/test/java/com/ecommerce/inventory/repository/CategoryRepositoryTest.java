@@ -1,13 +1,20 @@
 package com.ecommerce.inventory.repository;
 
+import com.ecommerce.inventory.dto.CategorySummary;
+import com.ecommerce.inventory.dto.ResourceStamp;
 import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,10 +26,14 @@ class CategoryRepositoryTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     private Category category;
 
     @BeforeEach
     void setUp() {
+        productRepository.deleteAll();
         categoryRepository.deleteAll();
         
         category = Category.builder()
@@ -111,5 +122,56 @@ class CategoryRepositoryTest {
 
         assertThat(categoryRepository.findById(saved.getId())).isEmpty();
     }
-}
 
+    @Test
+    @DisplayName("Should page category summaries with product counts")
+    void shouldFindCategorySummaries() {
+        Category saved = categoryRepository.save(category);
+        Category another = categoryRepository.save(Category.builder()
+                .name("Apparel")
+                .description("Clothing items")
+                .build());
+
+        productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .category(saved)
+                .build());
+        productRepository.save(Product.builder()
+                .name("Galaxy S24")
+                .basePrice(new BigDecimal("899.99"))
+                .brand("Samsung")
+                .category(saved)
+                .build());
+
+        Page<CategorySummary> page = categoryRepository.findSummaries(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(CategorySummary::getName)
+                .containsExactly("Apparel", "Electronics");
+        assertThat(page.getContent()).extracting(CategorySummary::getProductCount)
+                .containsExactly(0L, 2L);
+
+        assertThat(categoryRepository.findSummaryById(another.getId()))
+                .hasValueSatisfying(summary -> assertThat(summary.getProductCount()).isZero());
+        assertThat(categoryRepository.countProductsByCategoryId(saved.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should include the product count in the category stamp")
+    void shouldFindCategoryStamp() {
+        Category saved = categoryRepository.save(category);
+        productRepository.saveAndFlush(Product.builder()
+                .name("iPhone 15")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .category(saved)
+                .build());
+
+        ResourceStamp stamp = categoryRepository.findStampById(saved.getId()).orElseThrow();
+
+        assertThat(stamp.getEtag()).isEqualTo("0.1");
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against H2 in PostgreSQL mode and lets Hibernate validate the
+ * entities against the result, as production does.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class FlywayMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Test
+    @DisplayName("Should create the indexes behind the hot query paths")
+    void shouldCreateQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_schema) = 'public'",
+                String.class);
+
+        assertThat(indexes).contains(
+                "idx_products_created_at_id",
+                "idx_products_category_created_at_id",
+                "idx_skus_product_id_id",
+                "idx_stock_reservations_status",
+                "idx_stock_reservations_sku_id");
+        assertThat(indexes).doesNotContain("idx_products_name_category");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT LOWER(constraint_name) FROM information_schema.table_constraints WHERE constraint_type = 'UNIQUE'",
+                String.class)).contains("uk_products_category_name");
+    }
+
+    @Test
+    @DisplayName("Should persist and query entities on the migrated schema")
+    void shouldPersistOnMigratedSchema() {
+        Category category = categoryRepository.save(Category.builder().name("Electronics").build());
+        Product product = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .category(category)
+                .build());
+        skuRepository.saveAndFlush(Sku.builder()
+                .skuCode("IPHONE15-128-BLK")
+                .name("iPhone 15 - 128GB - Black")
+                .price(new BigDecimal("999.99"))
+                .quantity(10)
+                .product(product)
+                .build());
+
+        assertThat(productRepository.existsByNameAndCategoryId("iPhone 15", category.getId())).isTrue();
+        assertThat(skuRepository.findByProductId(product.getId())).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(version) FROM flyway_schema_history", String.class))
+                .isEqualTo("6");
+    }
+
+    @Test
+    @DisplayName("Should adopt a pre-migration database and start the id sequences above its rows")
+    void shouldAdoptBaselineDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baselinedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__initial_schema.sql")).execute(dataSource);
+        JdbcTemplate baseline = new JdbcTemplate(dataSource);
+        baseline.update("INSERT INTO categories (id, name) VALUES (120, 'Electronics')");
+        baseline.update("INSERT INTO products (id, name, base_price, brand, category_id) "
+                + "VALUES (7, 'iPhone 15', 999.99, 'Apple', 120)");
+        baseline.update("INSERT INTO skus (id, sku_code, name, price, quantity, product_id) "
+                + "VALUES (3, 'IPHONE15-128-BLK', 'iPhone 15 - 128GB - Black', 999.99, 10, 7)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        assertThat(baseline.queryForObject("SELECT NEXTVAL('categories_seq')", Long.class)).isEqualTo(121L);
+        assertThat(baseline.queryForObject("SELECT NEXTVAL('products_seq')", Long.class)).isEqualTo(8L);
+        assertThat(baseline.queryForObject("SELECT NEXTVAL('skus_seq')", Long.class)).isEqualTo(4L);
+        assertThat(baseline.queryForObject("SELECT version FROM skus WHERE id = 3", Long.class)).isZero();
+        assertThat(baseline.queryForObject("SELECT reserved_quantity FROM skus WHERE id = 3", Integer.class)).isZero();
+        assertThat(baseline.queryForObject("SELECT MAX(version) FROM flyway_schema_history", String.class))
+                .isEqualTo("6");
+    }
+}
@@ -1,7 +1,10 @@
 package com.ecommerce.inventory.repository;
 
 import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.dto.ProductSummary;
+import com.ecommerce.inventory.dto.ResourceStamp;
 import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,9 +12,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -106,6 +112,118 @@ class ProductRepositoryTest {
         assertThat(all.getContent()).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Should find product summaries with category name and SKU count")
+    void shouldFindProductSummariesByFilters() {
+        product.addSku(Sku.builder()
+                .skuCode("IPHONE15-128-BLK")
+                .name("iPhone 15 - 128GB - Black")
+                .price(new BigDecimal("999.99"))
+                .quantity(10)
+                .build());
+        product.addSku(Sku.builder()
+                .skuCode("IPHONE15-256-BLK")
+                .name("iPhone 15 - 256GB - Black")
+                .price(new BigDecimal("1099.99"))
+                .quantity(5)
+                .build());
+        productRepository.save(product);
+
+        Product another = Product.builder()
+                .name("Samsung Galaxy")
+                .description("Android phone")
+                .basePrice(new BigDecimal("899.99"))
+                .brand("Samsung")
+                .category(category)
+                .build();
+        productRepository.save(another);
+
+        Page<ProductSummary> byName = productRepository.findSummariesByFilters(
+                "iphone", null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertThat(byName.getTotalElements()).isEqualTo(1);
+        ProductSummary summary = byName.getContent().get(0);
+        assertThat(summary.getName()).isEqualTo("iPhone 15");
+        assertThat(summary.getCategoryId()).isEqualTo(category.getId());
+        assertThat(summary.getCategoryName()).isEqualTo("Electronics");
+        assertThat(summary.getSkuCount()).isEqualTo(2L);
+
+        Page<ProductSummary> byCategory = productRepository.findSummariesByFilters(
+                null, category.getId(), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertThat(byCategory.getContent()).hasSize(2);
+        assertThat(byCategory.getContent())
+                .filteredOn(s -> s.getName().equals("Samsung Galaxy"))
+                .singleElement()
+                .satisfies(s -> assertThat(s.getSkuCount()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should slice product summaries and count by filters")
+    void shouldSliceAndCountByFilters() {
+        productRepository.save(product);
+        productRepository.save(Product.builder()
+                .name("iPhone 15 Pro")
+                .basePrice(new BigDecimal("1099.99"))
+                .brand("Apple")
+                .category(category)
+                .build());
+
+        Slice<ProductSummary> slice = productRepository.findSummarySliceByFilters(
+                "iphone", null, PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.hasNext()).isTrue();
+
+        assertThat(productRepository.countByFilters("iphone", null)).isEqualTo(2);
+        assertThat(productRepository.countByFilters("pro", category.getId())).isEqualTo(1);
+        assertThat(productRepository.countByFilters(null, null)).isEqualTo(2);
+        assertThat(productRepository.countByFilters("APPLE", null)).isEqualTo(2);
+        assertThat(productRepository.countByFilters(LikePatterns.escape("i_hone"), null)).isZero();
+        assertThat(productRepository.countByFilters(LikePatterns.escape("%"), null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load product summaries by id")
+    void shouldFindSummariesByIds() {
+        Product saved = productRepository.save(product);
+
+        List<ProductSummary> summaries = productRepository.findSummariesByIds(List.of(saved.getId(), -1L));
+
+        assertThat(summaries).singleElement()
+                .satisfies(s -> assertThat(s.getCategoryName()).isEqualTo(category.getName()));
+    }
+
+    @Test
+    @DisplayName("Should seek product summaries after a keyset position")
+    void shouldFindProductSummariesAfterKeyset() {
+        Product first = productRepository.save(product);
+        Product second = productRepository.save(Product.builder()
+                .name("Samsung Galaxy")
+                .basePrice(new BigDecimal("899.99"))
+                .brand("Samsung")
+                .category(category)
+                .build());
+        Product third = productRepository.save(Product.builder()
+                .name("Pixel 8")
+                .basePrice(new BigDecimal("699.99"))
+                .brand("Google")
+                .category(category)
+                .build());
+        productRepository.flush();
+
+        Slice<ProductSummary> firstSlice = productRepository.findSummariesAfter(
+                null, null, third.getCreatedAt().plusDays(1), Long.MAX_VALUE, PageRequest.of(0, 2));
+        assertThat(firstSlice.getContent()).hasSize(2);
+        assertThat(firstSlice.hasNext()).isTrue();
+
+        ProductSummary last = firstSlice.getContent().get(1);
+        Slice<ProductSummary> secondSlice = productRepository.findSummariesAfter(
+                null, null, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        assertThat(secondSlice.getContent()).hasSize(1);
+        assertThat(secondSlice.hasNext()).isFalse();
+
+        assertThat(List.of(firstSlice.getContent().get(0).getId(), last.getId(), secondSlice.getContent().get(0).getId()))
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), third.getId());
+    }
+
     @Test
     @DisplayName("Should check if product exists by name and category")
     void shouldCheckIfProductExistsByNameAndCategory() {
@@ -138,5 +256,16 @@ class ProductRepositoryTest {
         assertThat(exists).isTrue();
         assertThat(notExists).isFalse();
     }
-}
 
+    @Test
+    @DisplayName("Should read the product stamp without loading the product")
+    void shouldFindProductStamp() {
+        Product saved = productRepository.saveAndFlush(product);
+
+        ResourceStamp stamp = productRepository.findStampById(saved.getId()).orElseThrow();
+
+        assertThat(stamp.getEtag()).isEqualTo("0.0.0");
+        assertThat(stamp.getLastModified()).isNotNull();
+        assertThat(productRepository.findStampById(-1L)).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ProductTrigramSearch.class)
+class ProductTrigramSearchTest {
+
+    @Autowired
+    private ProductTrigramSearch productTrigramSearch;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category phones;
+    private Category laptops;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        phones = categoryRepository.save(Category.builder().name("Phones").build());
+        laptops = categoryRepository.save(Category.builder().name("Laptops").build());
+    }
+
+    @Test
+    @DisplayName("Should match name or brand ignoring case, newest first")
+    void shouldMatchNameOrBrand() {
+        Product older = save("iPhone 15", "Apple", phones);
+        Product newer = save("MacBook Air", "Apple", laptops);
+        save("Galaxy S24", "Samsung", phones);
+
+        List<Long> ids = productTrigramSearch.findIds("APPLE", null, 10, 0);
+
+        assertThat(ids).containsExactly(newer.getId(), older.getId());
+        assertThat(productTrigramSearch.count("apple", null)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should restrict matches to the category")
+    void shouldRestrictToCategory() {
+        Product iphone = save("iPhone 15", "Apple", phones);
+        save("MacBook Air", "Apple", laptops);
+
+        assertThat(productTrigramSearch.findIds("apple", phones.getId(), 10, 0)).containsExactly(iphone.getId());
+        assertThat(productTrigramSearch.count("apple", phones.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page with offset and seek past a cursor")
+    void shouldPageAndSeek() {
+        Product first = save("iPhone 13", "Apple", phones);
+        Product second = save("iPhone 14", "Apple", phones);
+        Product third = save("iPhone 15", "Apple", phones);
+
+        assertThat(productTrigramSearch.findIds("iphone", null, 2, 1)).containsExactly(second.getId(), first.getId());
+        assertThat(productTrigramSearch.findIdsAfter("iphone", null, third.getCreatedAt(), third.getId(), 10))
+                .containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in the search term literally")
+    void shouldMatchWildcardsLiterally() {
+        Product cotton = save("100% Cotton Tee", "Basics", phones);
+        save("1000 Thread Sheets", "Basics", phones);
+        Product snake = save("snake_case Mug", "Dev_Shop", phones);
+
+        assertThat(productTrigramSearch.findIds("100%", null, 10, 0)).containsExactly(cotton.getId());
+        assertThat(productTrigramSearch.count("e_c", null)).isEqualTo(1);
+        assertThat(productTrigramSearch.findIds("_", null, 10, 0)).containsExactly(snake.getId());
+        assertThat(productTrigramSearch.count("\\", null)).isZero();
+    }
+
+    private Product save(String name, String brand, Category category) {
+        return productRepository.saveAndFlush(Product.builder()
+                .name(name)
+                .basePrice(new BigDecimal("9.99"))
+                .brand(brand)
+                .category(category)
+                .build());
+    }
+}
@@ -3,6 +3,9 @@ package com.ecommerce.inventory.repository;
 import com.ecommerce.inventory.entity.Category;
 import com.ecommerce.inventory.entity.Product;
 import com.ecommerce.inventory.entity.Sku;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,8 +14,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +35,9 @@ class SkuRepositoryTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Category category;
     private Product product;
     private Sku sku;
@@ -139,6 +148,46 @@ class SkuRepositoryTest {
         assertThat(notExists).isFalse();
     }
 
+    @Test
+    @DisplayName("Should return only the SKU codes that already exist")
+    void shouldFindExistingSkuCodes() {
+        skuRepository.save(sku);
+
+        List<String> existing = skuRepository.findExistingSkuCodes(
+                List.of("IPHONE15-128-BLK", "IPHONE15-256-WHT"));
+
+        assertThat(existing).containsExactly("IPHONE15-128-BLK");
+    }
+
+    @Test
+    @DisplayName("Should find SKUs by code with their product")
+    void shouldFindSkusByCodeWithProduct() {
+        skuRepository.save(sku);
+
+        List<Sku> found = skuRepository.findAllBySkuCodeIn(List.of("IPHONE15-128-BLK", "UNKNOWN"));
+
+        assertThat(found).extracting(Sku::getSkuCode).containsExactly("IPHONE15-128-BLK");
+        assertThat(found.get(0).getProduct().getName()).isEqualTo("iPhone 15");
+    }
+
+    @Test
+    @DisplayName("Should lock SKUs by code in id order")
+    void shouldLockSkusByCodeInIdOrder() {
+        Sku first = skuRepository.save(sku);
+        Sku second = skuRepository.save(Sku.builder()
+                .skuCode("IPHONE15-256-WHT")
+                .name("iPhone 15 - 256GB - White")
+                .price(new BigDecimal("1099.99"))
+                .quantity(50)
+                .product(product)
+                .build());
+
+        List<Sku> locked = skuRepository.findAllBySkuCodeForUpdate(
+                List.of("IPHONE15-256-WHT", "IPHONE15-128-BLK", "UNKNOWN"));
+
+        assertThat(locked).extracting(Sku::getId).containsExactly(first.getId(), second.getId());
+    }
+
     @Test
     @DisplayName("Should find SKU by id and product id")
     void shouldFindSkuByIdAndProductId() {
@@ -160,6 +209,63 @@ class SkuRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should decrement quantity only when enough stock is available")
+    void shouldDecrementQuantityConditionally() {
+        Sku saved = skuRepository.save(sku);
+
+        int decremented = skuRepository.decrementQuantity(saved.getId(), product.getId(), 40, LocalDateTime.now());
+        int rejected = skuRepository.decrementQuantity(saved.getId(), product.getId(), 61, LocalDateTime.now());
+
+        assertThat(decremented).isEqualTo(1);
+        assertThat(rejected).isZero();
+        assertThat(skuRepository.findQuantityByIdAndProductId(saved.getId(), product.getId())).contains(60);
+    }
+
+    @Test
+    @DisplayName("Should increment quantity scoped by product")
+    void shouldIncrementQuantityScopedByProduct() {
+        Sku saved = skuRepository.save(sku);
+
+        int incremented = skuRepository.incrementQuantity(saved.getId(), product.getId(), 5, LocalDateTime.now());
+        int otherProduct = skuRepository.incrementQuantity(saved.getId(), 999L, 5, LocalDateTime.now());
+
+        assertThat(incremented).isEqualTo(1);
+        assertThat(otherProduct).isZero();
+        assertThat(skuRepository.findQuantityByIdAndProductId(saved.getId(), product.getId())).contains(105);
+    }
+
+    @Test
+    @DisplayName("Should allocate ids from the sequence and insert in one batch on flush")
+    void shouldAllocateIdsFromSequenceAndBatchInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        skuRepository.flush();
+        statistics.clear();
+
+        List<Sku> saved = skuRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> Sku.builder()
+                        .skuCode("BATCH-" + i)
+                        .name("Batch SKU " + i)
+                        .price(new BigDecimal("9.99"))
+                        .quantity(i)
+                        .product(product)
+                        .build())
+                .toList());
+
+        // Ids come from at most one sequence call, with the rows still unwritten.
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+        long firstId = saved.get(0).getId();
+        assertThat(saved).extracting(Sku::getId)
+                .containsExactlyElementsOf(LongStream.range(firstId, firstId + 10).boxed().toList());
+
+        statistics.clear();
+        skuRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Should delete SKU")
     void shouldDeleteSku() {
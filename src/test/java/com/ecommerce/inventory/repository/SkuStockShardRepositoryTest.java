@@ -0,0 +1,92 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SkuStockShardRepositoryTest {
+
+    @Autowired
+    private SkuStockShardRepository shardRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Sku sku;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Electronics")
+                .description("Electronic devices")
+                .build());
+
+        Product product = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .description("Latest iPhone model")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .category(category)
+                .build());
+
+        sku = skuRepository.save(Sku.builder()
+                .skuCode("IPHONE15-128-BLK")
+                .name("iPhone 15 - 128GB - Black")
+                .price(new BigDecimal("999.99"))
+                .quantity(10)
+                .shardCount(2)
+                .product(product)
+                .build());
+
+        shardRepository.saveAll(List.of(
+                SkuStockShard.builder().sku(sku).shardIndex(0).quantity(6).build(),
+                SkuStockShard.builder().sku(sku).shardIndex(1).quantity(4).build()));
+    }
+
+    @Test
+    @DisplayName("Should only decrement a shard that covers the amount")
+    void shouldDecrementShardConditionally() {
+        assertThat(shardRepository.decrementQuantity(sku.getId(), 1, 5)).isZero();
+        assertThat(shardRepository.decrementQuantity(sku.getId(), 0, 5)).isEqualTo(1);
+        assertThat(shardRepository.incrementQuantity(sku.getId(), 1, 3)).isEqualTo(1);
+
+        assertThat(shardRepository.sumQuantityBySkuId(sku.getId())).isEqualTo(8);
+        assertThat(shardRepository.findBySkuIdOrderByShardIndex(sku.getId()))
+                .extracting(SkuStockShard::getQuantity)
+                .containsExactly(1, 7);
+    }
+
+    @Test
+    @DisplayName("Should keep row-level stock updates away from sharded SKUs")
+    void shouldSkipShardedSkuInRowUpdates() {
+        LocalDateTime now = LocalDateTime.now();
+        Long productId = sku.getProduct().getId();
+
+        assertThat(skuRepository.decrementQuantity(sku.getId(), productId, 1, now)).isZero();
+        assertThat(skuRepository.incrementQuantity(sku.getId(), productId, 1, now)).isZero();
+        assertThat(skuRepository.reserveQuantity(sku.getId(), 1, now)).isZero();
+        assertThat(skuRepository.findShardedSkuIds()).containsExactly(sku.getId());
+
+        assertThat(skuRepository.refreshShardedQuantity(sku.getId(), 10, now)).isZero();
+        assertThat(skuRepository.refreshShardedQuantity(sku.getId(), 12, now)).isEqualTo(1);
+        assertThat(skuRepository.findById(sku.getId()).orElseThrow().getQuantity()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.inventory.repository;
+
+import com.ecommerce.inventory.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StockReservationRepositoryTest {
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Sku sku;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Electronics")
+                .description("Electronic devices")
+                .build());
+
+        Product product = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .description("Latest iPhone model")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .category(category)
+                .build());
+
+        sku = skuRepository.save(Sku.builder()
+                .skuCode("IPHONE15-128-BLK")
+                .name("iPhone 15 - 128GB - Black")
+                .price(new BigDecimal("999.99"))
+                .quantity(10)
+                .product(product)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should transition status only from the expected state")
+    void shouldTransitionStatusConditionally() {
+        StockReservation reservation = reservationRepository.save(StockReservation.builder()
+                .sku(sku)
+                .cartId("cart-1")
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build());
+
+        int confirmed = reservationRepository.transitionStatus(reservation.getId(),
+                ReservationStatus.ACTIVE, ReservationStatus.CONFIRMED, LocalDateTime.now());
+        int expired = reservationRepository.transitionStatus(reservation.getId(),
+                ReservationStatus.ACTIVE, ReservationStatus.EXPIRED, LocalDateTime.now());
+
+        assertThat(confirmed).isEqualTo(1);
+        assertThat(expired).isZero();
+        assertThat(reservationRepository.findByStatus(ReservationStatus.CONFIRMED)).hasSize(1);
+        assertThat(reservationRepository.findByStatus(ReservationStatus.ACTIVE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only reserve and commit stock that is available")
+    void shouldReserveAndCommitAvailableStock() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(skuRepository.reserveQuantity(sku.getId(), 8, now)).isEqualTo(1);
+        assertThat(skuRepository.reserveQuantity(sku.getId(), 3, now)).isZero();
+        assertThat(skuRepository.findById(sku.getId()).orElseThrow().getReservedQuantity()).isEqualTo(8);
+
+        assertThat(skuRepository.commitReservedQuantity(sku.getId(), 5, now)).isEqualTo(1);
+        assertThat(skuRepository.releaseReservedQuantity(sku.getId(), 3, now)).isEqualTo(1);
+        assertThat(skuRepository.releaseReservedQuantity(sku.getId(), 1, now)).isZero();
+
+        Sku reloaded = skuRepository.findById(sku.getId()).orElseThrow();
+        assertThat(reloaded.getQuantity()).isEqualTo(5);
+        assertThat(reloaded.getReservedQuantity()).isZero();
+    }
+}
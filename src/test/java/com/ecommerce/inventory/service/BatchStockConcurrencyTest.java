@@ -0,0 +1,128 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.StockLineRequest;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overlapping carts decremented concurrently: with rows locked in id order none of them may
+ * deadlock or lose an update.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchStockConcurrencyTest {
+
+    private static final int SKU_COUNT = 10;
+    private static final int THREADS = 8;
+    private static final int CARTS_PER_THREAD = 20;
+    private static final int LINES_PER_CART = 5;
+    private static final int INITIAL_QUANTITY = 1000;
+
+    @Autowired
+    private SkuService skuService;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private List<String> skuCodes;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Concurrency")
+                .description("Batch stock concurrency")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Concurrency Product")
+                .basePrice(new BigDecimal("10.00"))
+                .brand("Test")
+                .category(category)
+                .build());
+
+        skuCodes = IntStream.range(0, SKU_COUNT)
+                .mapToObj(i -> String.format("CONC-%02d", i))
+                .collect(Collectors.toList());
+        skuRepository.saveAll(skuCodes.stream()
+                .map(code -> Sku.builder()
+                        .skuCode(code)
+                        .name(code)
+                        .price(new BigDecimal("10.00"))
+                        .quantity(INITIAL_QUANTITY)
+                        .product(product)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should apply overlapping carts concurrently without deadlocks or lost updates")
+    void shouldApplyOverlappingCartsConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger applied = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int c = 0; c < CARTS_PER_THREAD; c++) {
+                    List<String> codes = new ArrayList<>(skuCodes);
+                    Collections.shuffle(codes, ThreadLocalRandom.current());
+                    List<StockLineRequest> cart = codes.subList(0, LINES_PER_CART).stream()
+                            .map(code -> new StockLineRequest(code, 1))
+                            .collect(Collectors.toList());
+                    skuService.decrementStockBatch(cart);
+                    applied.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int remaining = skuRepository.findAll().stream()
+                .filter(sku -> skuCodes.contains(sku.getSkuCode()))
+                .mapToInt(Sku::getQuantity)
+                .sum();
+        assertThat(applied.get()).isEqualTo(THREADS * CARTS_PER_THREAD);
+        assertThat(remaining).isEqualTo(SKU_COUNT * INITIAL_QUANTITY - THREADS * CARTS_PER_THREAD * LINES_PER_CART);
+    }
+}
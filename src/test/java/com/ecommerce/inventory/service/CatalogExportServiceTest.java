@@ -0,0 +1,125 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.ProductExportDto;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogExportServiceTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Export Category").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    private Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .basePrice(new BigDecimal("10.00"))
+                .brand("Test")
+                .category(category)
+                .build();
+    }
+
+    private Sku sku(String skuCode, Product product) {
+        return Sku.builder()
+                .skuCode(skuCode)
+                .name(skuCode)
+                .price(new BigDecimal("10.00"))
+                .quantity(5)
+                .product(product)
+                .build();
+    }
+
+    private List<ProductExportDto> export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = catalogExportService.exportCatalog(out);
+
+        List<ProductExportDto> products = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            products.add(objectMapper.readValue(line, ProductExportDto.class));
+        }
+        assertThat(products).hasSize((int) exported);
+        return products;
+    }
+
+    @Test
+    @DisplayName("Should export one line per product with its SKUs nested")
+    void shouldExportProductsWithSkus() throws IOException {
+        Product withSkus = productRepository.save(product("Export Product"));
+        Product withoutSkus = productRepository.save(product("Export Product Without SKUs"));
+        skuRepository.saveAll(List.of(sku("EXPORT-1", withSkus), sku("EXPORT-2", withSkus)));
+
+        List<ProductExportDto> products = export();
+
+        assertThat(products).extracting(ProductExportDto::getId).containsExactly(withSkus.getId(), withoutSkus.getId());
+        assertThat(products.get(0).getCategoryName()).isEqualTo("Export Category");
+        assertThat(products.get(0).getSkus()).extracting("skuCode").containsExactly("EXPORT-1", "EXPORT-2");
+        assertThat(products.get(1).getSkus()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should export every product across persistence context clears")
+    void shouldExportAcrossClears() throws IOException {
+        int count = ProductRepository.EXPORT_FETCH_SIZE * 2 + 1;
+        List<Product> saved = productRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> product("Export Product " + i))
+                .toList());
+        Product afterClear = saved.get(ProductRepository.EXPORT_FETCH_SIZE);
+        skuRepository.saveAll(List.of(sku("EXPORT-A", afterClear), sku("EXPORT-B", afterClear)));
+
+        List<ProductExportDto> products = export();
+
+        assertThat(products).hasSize(count);
+        assertThat(products.get(ProductRepository.EXPORT_FETCH_SIZE).getSkus())
+                .extracting("productName")
+                .containsExactly(afterClear.getName(), afterClear.getName());
+    }
+}
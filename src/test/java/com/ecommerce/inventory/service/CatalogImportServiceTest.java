@@ -0,0 +1,216 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.ImportJobDto;
+import com.ecommerce.inventory.dto.ImportRowError;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(properties = "inventory.import.chunk-size=2")
+@ActiveProfiles("test")
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "category,product_name,brand,base_price,sku_code,sku_name,price,quantity\n";
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @SpyBean
+    private ProductRepository productRepository;
+
+    @SpyBean
+    private SkuRepository skuRepository;
+
+    @AfterEach
+    void tearDown() {
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    private ImportJobDto importAndWait(String csv) throws IOException, InterruptedException {
+        ImportJobDto job = catalogImportService.startImport(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = catalogImportService.getImportJob(job.getId());
+        }
+        assertThat(job.getFinishedAt()).as("import finished").isNotNull();
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should create categories and products once and a SKU per row across chunks")
+    void shouldImportRows() throws Exception {
+        ImportJobDto job = importAndWait(HEADER
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLK,iPhone 15 128GB Black,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLU,iPhone 15 128GB Blue,799.00,5\n"
+                + "Phones,Galaxy S24,Samsung,699.00,S24-256-GRY,Galaxy S24 256GB Gray,749.00,\n"
+                + "Audio,\"AirPods, Pro\",Apple,249.00,APP-2,AirPods Pro 2,249.00,7\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDto.Status.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(4);
+        assertThat(job.getRowsImported()).isEqualTo(4);
+        assertThat(job.getErrors()).isEmpty();
+
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactlyInAnyOrder("Phones", "Audio");
+        assertThat(productRepository.findAll()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("iPhone 15", "Galaxy S24", "AirPods, Pro");
+        Sku galaxy = skuRepository.findBySkuCode("S24-256-GRY").orElseThrow();
+        assertThat(galaxy.getQuantity()).isZero();
+        assertThat(galaxy.getPrice()).isEqualByComparingTo("749.00");
+    }
+
+    @Test
+    @DisplayName("Should reuse an existing category and product")
+    void shouldReuseExistingCatalog() throws Exception {
+        Category phones = categoryRepository.save(Category.builder().name("Phones").build());
+        Product iphone = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .brand("Apple")
+                .basePrice(new BigDecimal("799.00"))
+                .category(phones)
+                .build());
+
+        ImportJobDto job = importAndWait(HEADER
+                + "Phones,iPhone 15,Apple,799.00,IP15-256-BLK,iPhone 15 256GB Black,899.00,3\n");
+
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertThat(categoryRepository.count()).isEqualTo(1);
+        assertThat(productRepository.count()).isEqualTo(1);
+        assertThat(skuRepository.findByProductId(iphone.getId())).extracting(Sku::getSkuCode).containsExactly("IP15-256-BLK");
+    }
+
+    @Test
+    @DisplayName("Should report invalid and duplicate rows by record number and import the rest")
+    void shouldReportRowErrors() throws Exception {
+        ImportJobDto job = importAndWait(HEADER
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLK,iPhone 15 128GB Black,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLK,iPhone 15 128GB Black,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-RED,iPhone 15 128GB Red,abc,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-GRN,,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-PNK,iPhone 15 128GB Pink,799.00,4\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDto.Status.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(5);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getRowsFailed()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportRowError::getRow).containsExactly(3L, 4L, 5L);
+        assertThat(job.getErrors()).extracting(ImportRowError::getSkuCode)
+                .containsExactly("IP15-128-BLK", "IP15-128-RED", "IP15-128-GRN");
+        assertThat(job.getErrors().get(0).getError()).contains("already exists");
+        assertThat(job.getErrors().get(1).getError()).contains("Invalid price");
+        assertThat(skuRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk that fails to commit row by row and report only the failing row")
+    void shouldRetryFailedChunkRowByRow() throws Exception {
+        Category phones = categoryRepository.save(Category.builder().name("Phones").build());
+        Product iphone = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .brand("Apple")
+                .basePrice(new BigDecimal("799.00"))
+                .category(phones)
+                .build());
+        skuRepository.save(Sku.builder()
+                .skuCode("IP15-128-BLK")
+                .name("iPhone 15 128GB Black")
+                .price(new BigDecimal("799.00"))
+                .quantity(1)
+                .product(iphone)
+                .build());
+        // As if another writer committed the SKU code after the chunk checked for it.
+        doReturn(List.of()).when(skuRepository).findExistingSkuCodes(any());
+
+        ImportJobDto job = importAndWait(HEADER
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLU,iPhone 15 128GB Blue,799.00,5\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLK,iPhone 15 128GB Black,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-PNK,iPhone 15 128GB Pink,799.00,4\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDto.Status.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(3);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(ImportRowError::getRow).containsExactly(3L);
+        assertThat(job.getErrors().get(0).getError()).startsWith("Row rolled back");
+        assertThat(skuRepository.findByProductId(iphone.getId())).extracting(Sku::getSkuCode)
+                .containsExactlyInAnyOrder("IP15-128-BLK", "IP15-128-BLU", "IP15-128-PNK");
+    }
+
+    @Test
+    @DisplayName("Should reuse a product another writer created after it was looked up")
+    void shouldReResolveConflictingProduct() throws Exception {
+        Category phones = categoryRepository.save(Category.builder().name("Phones").build());
+        Product iphone = productRepository.save(Product.builder()
+                .name("iPhone 15")
+                .brand("Apple")
+                .basePrice(new BigDecimal("799.00"))
+                .category(phones)
+                .build());
+        // The first lookup misses it, so the chunk inserts a duplicate and fails on the unique constraint.
+        doReturn(Optional.empty()).doReturn(Optional.of(iphone.getId()))
+                .when(productRepository).findIdByNameAndCategoryId(any(), any());
+
+        ImportJobDto job = importAndWait(HEADER
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLK,iPhone 15 128GB Black,799.00,10\n"
+                + "Phones,iPhone 15,Apple,799.00,IP15-128-BLU,iPhone 15 128GB Blue,799.00,5\n");
+
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getErrors()).isEmpty();
+        assertThat(productRepository.count()).isEqualTo(1);
+        assertThat(skuRepository.findByProductId(iphone.getId())).extracting(Sku::getSkuCode)
+                .containsExactlyInAnyOrder("IP15-128-BLK", "IP15-128-BLU");
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV missing required columns")
+    void shouldRejectMissingColumns() {
+        byte[] csv = "category,product_name\nPhones,iPhone 15\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> catalogImportService.startImport(new ByteArrayInputStream(csv)))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("brand");
+    }
+
+    @Test
+    @DisplayName("Should reject an empty CSV")
+    void shouldRejectEmptyFile() {
+        assertThatThrownBy(() -> catalogImportService.startImport(new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("CSV file is empty");
+    }
+
+    @Test
+    @DisplayName("Should throw when the import job is unknown")
+    void shouldThrowForUnknownJob() {
+        assertThatThrownBy(() -> catalogImportService.getImportJob("unknown"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.config.CacheConfig;
+import com.ecommerce.inventory.dto.CategoryDto;
+import com.ecommerce.inventory.dto.UpdateCategoryRequest;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.mapper.CategoryMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(classes = {CacheConfig.class, CategoryService.class, CatalogVersion.class})
+class CategoryCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private CategoryMapper categoryMapper;
+
+    private Category category;
+    private CategoryDto categoryDto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        category = Category.builder().id(1L).name("Electronics").build();
+        categoryDto = CategoryDto.builder().id(1L).name("Electronics").build();
+        when(categoryMapper.toDtoWithoutProductCount(category)).thenReturn(categoryDto);
+    }
+
+    @Test
+    @DisplayName("Should load a category by id once, as a DTO")
+    void shouldCacheById() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+
+        assertThat(categoryService.findCategoryById(1L)).isSameAs(categoryDto);
+        assertThat(categoryService.findCategoryById(1L)).isSameAs(categoryDto);
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(1L).get()).isInstanceOf(CategoryDto.class);
+
+        verify(categoryRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should load a category by name once")
+    void shouldCacheByName() {
+        when(categoryRepository.findByName("Electronics")).thenReturn(Optional.of(category));
+
+        categoryService.findCategoryByName("Electronics");
+        categoryService.findCategoryByName("Electronics");
+
+        verify(categoryRepository, times(1)).findByName("Electronics");
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing category")
+    void shouldNotCacheMissingCategory() {
+        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryService.findCategoryById(999L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> categoryService.findCategoryById(999L)).isInstanceOf(ResourceNotFoundException.class);
+
+        verify(categoryRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    @DisplayName("Should evict the category on update")
+    void shouldEvictOnUpdate() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findByName("Electronics")).thenReturn(Optional.of(category));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        categoryService.findCategoryById(1L);
+        categoryService.findCategoryByName("Electronics");
+
+        categoryService.updateCategory(1L, UpdateCategoryRequest.builder().description("Updated").build());
+        categoryService.findCategoryById(1L);
+        categoryService.findCategoryByName("Electronics");
+
+        // The update itself reads the row uncached, then each lookup reloads it.
+        verify(categoryRepository, times(3)).findById(1L);
+        verify(categoryRepository, times(2)).findByName("Electronics");
+    }
+
+    @Test
+    @DisplayName("Should evict the category on delete")
+    void shouldEvictOnDelete() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        categoryService.findCategoryById(1L);
+
+        categoryService.deleteCategory(1L);
+
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(1L)).isNull();
+    }
+}
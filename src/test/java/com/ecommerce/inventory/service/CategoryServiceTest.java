@@ -1,10 +1,11 @@
 package com.ecommerce.inventory.service;
 
 import com.ecommerce.inventory.dto.CategoryDto;
+import com.ecommerce.inventory.dto.CategorySummary;
 import com.ecommerce.inventory.dto.CreateCategoryRequest;
+import com.ecommerce.inventory.dto.PagedResponse;
 import com.ecommerce.inventory.dto.UpdateCategoryRequest;
 import com.ecommerce.inventory.entity.Category;
-import com.ecommerce.inventory.entity.Product;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
 import com.ecommerce.inventory.exception.InvalidOperationException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
@@ -18,6 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,11 +44,15 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private CategoryService categoryService;
 
     private Category category;
     private CategoryDto categoryDto;
+    private CategorySummary categorySummary;
     private CreateCategoryRequest createRequest;
     private UpdateCategoryRequest updateRequest;
 
@@ -65,6 +74,13 @@ class CategoryServiceTest {
                 .productCount(0)
                 .build();
 
+        categorySummary = CategorySummary.builder()
+                .id(1L)
+                .name("Electronics")
+                .description("Electronic devices")
+                .productCount(0L)
+                .build();
+
         createRequest = CreateCategoryRequest.builder()
                 .name("Electronics")
                 .description("Electronic devices")
@@ -81,26 +97,29 @@ class CategoryServiceTest {
     class GetAllCategoriesTests {
 
         @Test
-        @DisplayName("Should return all categories")
+        @DisplayName("Should return paginated categories")
         void shouldReturnAllCategories() {
-            when(categoryRepository.findAll()).thenReturn(List.of(category));
-            when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+            Page<CategorySummary> categoryPage = new PageImpl<>(List.of(categorySummary), PageRequest.of(0, 10), 1);
+            when(categoryRepository.findSummaries(any(Pageable.class))).thenReturn(categoryPage);
+            when(categoryMapper.toDto(categorySummary)).thenReturn(categoryDto);
 
-            List<CategoryDto> result = categoryService.getAllCategories();
+            PagedResponse<CategoryDto> result = categoryService.getAllCategories(0, 10);
 
-            assertThat(result).hasSize(1);
-            assertThat(result.get(0).getName()).isEqualTo("Electronics");
-            verify(categoryRepository).findAll();
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.getContent().get(0).getName()).isEqualTo("Electronics");
+            assertThat(result.getTotalElements()).isEqualTo(1);
+            verify(categoryRepository, never()).findAll();
         }
 
         @Test
-        @DisplayName("Should return empty list when no categories exist")
+        @DisplayName("Should return empty page when no categories exist")
         void shouldReturnEmptyListWhenNoCategoriesExist() {
-            when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+            when(categoryRepository.findSummaries(any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0));
 
-            List<CategoryDto> result = categoryService.getAllCategories();
+            PagedResponse<CategoryDto> result = categoryService.getAllCategories(0, 10);
 
-            assertThat(result).isEmpty();
+            assertThat(result.getContent()).isEmpty();
         }
     }
 
@@ -111,8 +130,8 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should return category when found")
         void shouldReturnCategoryWhenFound() {
-            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-            when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+            when(categoryRepository.findSummaryById(1L)).thenReturn(Optional.of(categorySummary));
+            when(categoryMapper.toDto(categorySummary)).thenReturn(categoryDto);
 
             CategoryDto result = categoryService.getCategoryById(1L);
 
@@ -122,7 +141,7 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should throw exception when category not found")
         void shouldThrowExceptionWhenCategoryNotFound() {
-            when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+            when(categoryRepository.findSummaryById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> categoryService.getCategoryById(999L))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -146,6 +165,7 @@ class CategoryServiceTest {
 
             assertThat(result.getName()).isEqualTo("Electronics");
             verify(categoryRepository).save(any(Category.class));
+            verify(catalogVersion).bumpAfterCommit();
         }
 
         @Test
@@ -196,8 +216,8 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should delete category successfully when no products")
         void shouldDeleteCategorySuccessfully() {
-            category.setProducts(new ArrayList<>());
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(categoryRepository.countProductsByCategoryId(1L)).thenReturn(0L);
 
             categoryService.deleteCategory(1L);
 
@@ -207,13 +227,13 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should throw exception when category has products")
         void shouldThrowExceptionWhenCategoryHasProducts() {
-            Product product = Product.builder().id(1L).name("Test Product").build();
-            category.setProducts(List.of(product));
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(categoryRepository.countProductsByCategoryId(1L)).thenReturn(3L);
 
             assertThatThrownBy(() -> categoryService.deleteCategory(1L))
                     .isInstanceOf(InvalidOperationException.class)
                     .hasMessageContaining("Cannot delete category");
+            verify(categoryRepository, never()).delete(any(Category.class));
         }
     }
 }
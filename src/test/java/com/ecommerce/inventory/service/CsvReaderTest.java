@@ -0,0 +1,61 @@
+package com.ecommerce.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    private List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        assertThat(reader.recordNumber()).isEqualTo(records.size());
+        return records;
+    }
+
+    @Test
+    @DisplayName("Should split plain records on commas and line breaks")
+    void shouldReadPlainRecords() throws IOException {
+        assertThat(readAll("a,b,c\n1,,3\n"))
+                .containsExactly(List.of("a", "b", "c"), List.of("1", "", "3"));
+    }
+
+    @Test
+    @DisplayName("Should unquote fields with escaped quotes, commas and line breaks")
+    void shouldReadQuotedFields() throws IOException {
+        assertThat(readAll("\"say \"\"hi\"\"\",\"a,b\",\"two\nlines\"\n"))
+                .containsExactly(List.of("say \"hi\"", "a,b", "two\nlines"));
+    }
+
+    @Test
+    @DisplayName("Should accept CRLF, skip blank lines and read a last record without a line break")
+    void shouldHandleLineEndings() throws IOException {
+        assertThat(readAll("a,b\r\n\r\n\n1,2\r\n3,4"))
+                .containsExactly(List.of("a", "b"), List.of("1", "2"), List.of("3", "4"));
+    }
+
+    @Test
+    @DisplayName("Should keep a record of empty fields")
+    void shouldKeepEmptyFields() throws IOException {
+        assertThat(readAll(",\n\"\"\n")).containsExactly(List.of("", ""), List.of(""));
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void shouldRejectUnterminatedQuote() {
+        assertThatThrownBy(() -> readAll("a,b\n\"open,1\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("record 2");
+    }
+}
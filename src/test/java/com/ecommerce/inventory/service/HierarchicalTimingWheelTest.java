@@ -0,0 +1,73 @@
+package com.ecommerce.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("Should fire an entry only once its deadline is reached")
+    void shouldFireEntryAtDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        wheel.schedule("a", START + 35);
+
+        assertThat(wheel.advance(START + 30)).isEmpty();
+        assertThat(wheel.advance(START + 40)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cascade entries from higher levels without firing early or late")
+    void shouldCascadeEntriesFromHigherLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 3, START);
+        List<Long> deadlines = List.of(START + 50, START + 170, START + 630, START + 2_000);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 2_000; now += 10) {
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - 10);
+                fired.add(deadline);
+            }
+        }
+
+        assertThat(fired).containsExactlyElementsOf(deadlines);
+    }
+
+    @Test
+    @DisplayName("Should fire overdue entries on the next advance")
+    void shouldFireOverdueEntriesOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+        wheel.schedule("late", START - 5_000);
+
+        assertThat(wheel.advance(START + 10)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Should fire everything due when advancing over a long gap")
+    void shouldFireEverythingDueOverLongGap() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+        for (int i = 1; i <= 1_000; i++) {
+            wheel.schedule(i, START + i * 10L);
+        }
+
+        assertThat(wheel.advance(START + 5_000)).hasSize(500);
+        assertThat(wheel.size()).isEqualTo(500);
+        assertThat(wheel.advance(START + 10_000)).hasSize(500);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, 8, 2, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
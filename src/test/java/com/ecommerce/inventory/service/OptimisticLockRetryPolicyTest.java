@@ -0,0 +1,67 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.entity.Sku;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticLockRetryPolicyTest {
+
+    private final OptimisticLockRetryPolicy retryPolicy =
+            new OptimisticLockRetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(4));
+
+    @Test
+    @DisplayName("Should retry until the action succeeds")
+    void shouldRetryUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Sku.class, 1L);
+            }
+            return "updated";
+        });
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Sku.class, 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry other failures")
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep jittered backoff within the capped exponential bound")
+    void shouldKeepBackoffWithinBound() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryPolicy.backoffMillis(1)).isBetween(0L, 1L);
+            assertThat(retryPolicy.backoffMillis(5)).isBetween(0L, 4L);
+        }
+    }
+}
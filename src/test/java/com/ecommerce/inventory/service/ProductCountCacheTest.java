@@ -0,0 +1,59 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCountCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCountCache productCountCache;
+
+    @BeforeEach
+    void setUp() {
+        productCountCache = new ProductCountCache(productRepository, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    @DisplayName("Should reuse count within TTL regardless of name case")
+    void shouldReuseCountWithinTtl() {
+        when(productRepository.countByFilters("iPhone", 1L)).thenReturn(42L);
+
+        assertThat(productCountCache.estimate("iPhone", 1L)).isEqualTo(42L);
+        assertThat(productCountCache.estimate("IPHONE", 1L)).isEqualTo(42L);
+
+        verify(productRepository, times(1)).countByFilters(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should cache counts per filter")
+    void shouldCacheCountsPerFilter() {
+        when(productRepository.countByFilters(null, 1L)).thenReturn(10L);
+        when(productRepository.countByFilters(null, 2L)).thenReturn(20L);
+
+        assertThat(productCountCache.estimate(null, 1L)).isEqualTo(10L);
+        assertThat(productCountCache.estimate(null, 2L)).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should reload count once TTL has elapsed")
+    void shouldReloadAfterTtl() {
+        ProductCountCache expiring = new ProductCountCache(productRepository, Duration.ZERO, 100);
+        when(productRepository.countByFilters(null, null)).thenReturn(5L, 6L);
+
+        assertThat(expiring.estimate(null, null)).isEqualTo(5L);
+        assertThat(expiring.estimate(null, null)).isEqualTo(6L);
+    }
+}
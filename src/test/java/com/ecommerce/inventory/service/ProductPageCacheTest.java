@@ -0,0 +1,144 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.config.CacheConfig;
+import com.ecommerce.inventory.dto.PagedResponse;
+import com.ecommerce.inventory.dto.ProductDto;
+import com.ecommerce.inventory.dto.ProductSummary;
+import com.ecommerce.inventory.dto.TotalsMode;
+import com.ecommerce.inventory.mapper.ProductMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.ProductTrigramSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(classes = {CacheConfig.class, ProductService.class, CatalogVersion.class})
+class ProductPageCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private ProductMapper productMapper;
+
+    @MockBean
+    private CategoryService categoryService;
+
+    @MockBean
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private ProductCountCache productCountCache;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockBean
+    private ProductTrigramSearch productTrigramSearch;
+
+    private ProductSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PRODUCT_PAGES).clear();
+        summary = ProductSummary.builder()
+                .id(1L)
+                .name("iPhone 15")
+                .categoryId(1L)
+                .skuCount(0L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(productMapper.toDto(any(ProductSummary.class))).thenReturn(ProductDto.builder().id(1L).build());
+        when(productRepository.findSummariesByFilters(any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1));
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated listing page from the cache")
+    void shouldCacheListingPage() {
+        PagedResponse<ProductDto> first = productService.getAllProducts(null, 1L, 0, 10, null, TotalsMode.EXACT);
+        PagedResponse<ProductDto> second = productService.getAllProducts(null, 1L, 0, 10, null, TotalsMode.EXACT);
+
+        assertThat(second).isSameAs(first);
+        verify(productRepository, times(1)).findSummariesByFilters(any(), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should cache each page and filter separately")
+    void shouldKeyByFiltersAndPage() {
+        productService.getAllProducts(null, 1L, 0, 10, null, TotalsMode.EXACT);
+        productService.getAllProducts(null, 2L, 0, 10, null, TotalsMode.EXACT);
+        productService.getAllProducts(null, 1L, 1, 10, null, TotalsMode.EXACT);
+
+        verify(productRepository, times(3)).findSummariesByFilters(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should reload the page after a catalog write")
+    void shouldReloadAfterWrite() {
+        productService.getAllProducts(null, null, 0, 10, null, TotalsMode.EXACT);
+
+        catalogVersion.bumpAfterCommit();
+        productService.getAllProducts(null, null, 0, 10, null, TotalsMode.EXACT);
+
+        verify(productRepository, times(2)).findSummariesByFilters(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should not cache cursor pages")
+    void shouldNotCacheCursorPages() {
+        String cursor = ProductCursor.encode(summary.getCreatedAt(), summary.getId());
+        when(productRepository.findSummariesAfter(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(0, 10), false));
+
+        productService.getAllProducts(null, null, 0, 10, cursor, TotalsMode.EXACT);
+        productService.getAllProducts(null, null, 0, 10, cursor, TotalsMode.EXACT);
+
+        verify(productRepository, times(2)).findSummariesAfter(any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should bump the catalog version only once the write commits")
+    void shouldBumpAfterCommit() {
+        long before = catalogVersion.current();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogVersion.bumpAfterCommit();
+            assertThat(catalogVersion.current()).isEqualTo(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catalogVersion.current()).isEqualTo(before + 1);
+    }
+}
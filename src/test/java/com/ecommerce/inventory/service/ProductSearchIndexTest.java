@@ -0,0 +1,144 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex productSearchIndex;
+    private Category phones;
+    private Category laptops;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(productRepository, true);
+        phones = Category.builder().id(1L).name("Phones").build();
+        laptops = Category.builder().id(2L).name("Laptops").build();
+    }
+
+    private Product product(long id, String name, String brand, Category category, int minutes) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .category(category)
+                .createdAt(CREATED_AT.plusMinutes(minutes))
+                .build();
+    }
+
+    private List<Long> search(String query, Long categoryId) {
+        return productSearchIndex.search(query, categoryId).orElseThrow().stream()
+                .map(ProductSearchIndex.Match::id)
+                .toList();
+    }
+
+    private void build(Product... products) {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of(products));
+        productSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should find substrings of names and brands, newest first")
+    void shouldFindSubstringsNewestFirst() {
+        build(product(1L, "iPhone 15", "Apple", phones, 0),
+                product(2L, "iPhone 15 Pro", "Apple", phones, 5),
+                product(3L, "MacBook Pro", "Apple", laptops, 1),
+                product(4L, "Galaxy S24", "Samsung", phones, 2));
+
+        assertThat(search("PHONE 15", null)).containsExactly(2L, 1L);
+        assertThat(search("pro", null)).containsExactly(2L, 3L);
+        assertThat(search("apple", 2L)).containsExactly(3L);
+        assertThat(search("pixel", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not answer before it is built or for queries shorter than a trigram")
+    void shouldNotAnswerWhenUnbuiltOrQueryTooShort() {
+        assertThat(productSearchIndex.search("iphone", null)).isEmpty();
+
+        build(product(1L, "iPhone 15", "Apple", phones, 0));
+
+        assertThat(productSearchIndex.search("ip", null)).isEmpty();
+        assertThat(productSearchIndex.search("iph", null)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes")
+    void shouldReflectUpdatesAndDeletes() {
+        build(product(1L, "iPhone 15", "Apple", phones, 0),
+                product(2L, "Galaxy S24", "Samsung", phones, 1));
+
+        productSearchIndex.indexAfterCommit(product(1L, "Pixel 8", "Google", phones, 0));
+        productSearchIndex.removeAfterCommit(2L);
+        productSearchIndex.indexAfterCommit(product(5L, "Galaxy Tab", "Samsung", laptops, 3));
+
+        assertThat(search("iphone", null)).isEmpty();
+        assertThat(search("pixel", null)).containsExactly(1L);
+        assertThat(search("galaxy", null)).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("Should not replace a product with an older version of it")
+    void shouldIgnoreOlderVersions() {
+        Product renamed = product(1L, "Pixel 8", "Google", phones, 0);
+        renamed.setVersion(2L);
+        productSearchIndex.put(renamed);
+        Product stale = product(1L, "iPhone 15", "Apple", phones, 0);
+        stale.setVersion(1L);
+
+        build(stale);
+
+        assertThat(search("iphone", null)).isEmpty();
+        assertThat(search("pixel", null)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should not add back a product deleted while the index was being built")
+    void shouldSkipProductsDeletedDuringBuild() {
+        productSearchIndex.removeAfterCommit(1L);
+
+        build(product(1L, "iPhone 15", "Apple", phones, 0), product(2L, "iPhone 15 Pro", "Apple", phones, 1));
+
+        assertThat(search("iphone", null)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should build from the table in id-ordered batches")
+    void shouldBuildInBatches() {
+        List<Product> firstBatch = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> product(id, "Case " + id, "Generic", phones, 0))
+                .toList();
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(eq(1000L), any(Pageable.class)))
+                .thenReturn(List.of(product(1001L, "Charger", "Generic", phones, 0)));
+
+        productSearchIndex.rebuild();
+
+        assertThat(search("charger", null)).containsExactly(1001L);
+        assertThat(search("case 99", null)).hasSize(11);
+        verify(productRepository, times(2)).findByIdGreaterThanOrderByIdAsc(any(), any(Pageable.class));
+    }
+}
@@ -3,10 +3,15 @@ package com.ecommerce.inventory.service;
 import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.entity.Category;
 import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
 import com.ecommerce.inventory.mapper.ProductMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
 import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.ProductTrigramSearch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,11 +27,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,12 +48,29 @@ class ProductServiceTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductTrigramSearch productTrigramSearch;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private ProductService productService;
 
     private Category category;
+    private CategoryDto categoryDto;
     private Product product;
     private ProductDto productDto;
+    private ProductSummary productSummary;
     private CreateProductRequest createRequest;
     private UpdateProductRequest updateRequest;
 
@@ -57,6 +81,11 @@ class ProductServiceTest {
                 .name("Electronics")
                 .description("Electronic devices")
                 .build();
+        categoryDto = CategoryDto.builder()
+                .id(1L)
+                .name("Electronics")
+                .description("Electronic devices")
+                .build();
 
         product = Product.builder()
                 .id(1L)
@@ -81,6 +110,17 @@ class ProductServiceTest {
                 .skuCount(0)
                 .build();
 
+        productSummary = ProductSummary.builder()
+                .id(1L)
+                .name("iPhone 15")
+                .description("Latest iPhone model")
+                .basePrice(new BigDecimal("999.99"))
+                .brand("Apple")
+                .categoryId(1L)
+                .categoryName("Electronics")
+                .skuCount(0L)
+                .build();
+
         createRequest = CreateProductRequest.builder()
                 .name("iPhone 15")
                 .description("Latest iPhone model")
@@ -102,24 +142,25 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should return paginated products")
         void shouldReturnPaginatedProducts() {
-            Page<Product> productPage = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
-            when(productRepository.findByFilters(any(), any(), any(Pageable.class))).thenReturn(productPage);
-            when(productMapper.toDto(product)).thenReturn(productDto);
+            Page<ProductSummary> productPage = new PageImpl<>(List.of(productSummary), PageRequest.of(0, 10), 1);
+            when(productRepository.findSummariesByFilters(any(), any(), any(Pageable.class))).thenReturn(productPage);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
 
-            PagedResponse<ProductDto> result = productService.getAllProducts(null, null, 0, 10);
+            PagedResponse<ProductDto> result = productService.getAllProducts(null, null, 0, 10, null, TotalsMode.EXACT);
 
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getTotalElements()).isEqualTo(1);
+            verify(productRepository, never()).findByFilters(any(), any(), any(Pageable.class));
         }
 
         @Test
         @DisplayName("Should filter products by name")
         void shouldFilterProductsByName() {
-            Page<Product> productPage = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
-            when(productRepository.findByFilters(eq("iPhone"), any(), any(Pageable.class))).thenReturn(productPage);
-            when(productMapper.toDto(product)).thenReturn(productDto);
+            Page<ProductSummary> productPage = new PageImpl<>(List.of(productSummary), PageRequest.of(0, 10), 1);
+            when(productRepository.findSummariesByFilters(eq("iPhone"), any(), any(Pageable.class))).thenReturn(productPage);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
 
-            PagedResponse<ProductDto> result = productService.getAllProducts("iPhone", null, 0, 10);
+            PagedResponse<ProductDto> result = productService.getAllProducts("iPhone", null, 0, 10, null, TotalsMode.EXACT);
 
             assertThat(result.getContent()).hasSize(1);
         }
@@ -127,13 +168,183 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should filter products by category")
         void shouldFilterProductsByCategory() {
-            Page<Product> productPage = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
-            when(productRepository.findByFilters(any(), eq(1L), any(Pageable.class))).thenReturn(productPage);
-            when(productMapper.toDto(product)).thenReturn(productDto);
+            Page<ProductSummary> productPage = new PageImpl<>(List.of(productSummary), PageRequest.of(0, 10), 1);
+            when(productRepository.findSummariesByFilters(any(), eq(1L), any(Pageable.class))).thenReturn(productPage);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts(null, 1L, 0, 10, null, TotalsMode.EXACT);
+
+            assertThat(result.getContent()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should return next cursor when more pages exist")
+        void shouldReturnNextCursorForOffsetPage() {
+            productSummary.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+            Page<ProductSummary> productPage = new PageImpl<>(List.of(productSummary), PageRequest.of(0, 1), 5);
+            when(productRepository.findSummariesByFilters(any(), any(), any(Pageable.class))).thenReturn(productPage);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts(null, null, 0, 1, null, TotalsMode.EXACT);
+
+            assertThat(result.getNextCursor()).isNotNull();
+            ProductCursor cursor = ProductCursor.decode(result.getNextCursor());
+            assertThat(cursor.getCreatedAt()).isEqualTo(productSummary.getCreatedAt());
+            assertThat(cursor.getId()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should seek past cursor without counting")
+        void shouldSeekPastCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+            String cursor = ProductCursor.encode(createdAt, 42L);
+            Slice<ProductSummary> productSlice = new SliceImpl<>(List.of(productSummary), PageRequest.of(0, 10), false);
+            when(productRepository.findSummariesAfter(isNull(), isNull(), eq(createdAt), eq(42L), any(Pageable.class)))
+                    .thenReturn(productSlice);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts(null, null, 0, 10, cursor, TotalsMode.EXACT);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isLast()).isTrue();
+            assertThat(result.getNextCursor()).isNull();
+            assertThat(result.getTotalElements()).isNull();
+            verify(productRepository, never()).findSummariesByFilters(any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should skip COUNT when totals are not requested")
+        void shouldSkipCountWhenTotalsNone() {
+            Slice<ProductSummary> productSlice = new SliceImpl<>(List.of(productSummary), PageRequest.of(0, 10), true);
+            when(productRepository.findSummarySliceByFilters(any(), any(), any(Pageable.class))).thenReturn(productSlice);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
 
-            PagedResponse<ProductDto> result = productService.getAllProducts(null, 1L, 0, 10);
+            PagedResponse<ProductDto> result = productService.getAllProducts(null, null, 0, 10, null, TotalsMode.NONE);
 
             assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isLast()).isFalse();
+            assertThat(result.getTotalElements()).isNull();
+            assertThat(result.getTotalPages()).isNull();
+            assertThat(result.getTotals()).isEqualTo(TotalsMode.NONE);
+            verify(productRepository, never()).findSummariesByFilters(any(), any(), any(Pageable.class));
+            verifyNoInteractions(productCountCache);
+        }
+
+        @Test
+        @DisplayName("Should use cached count for estimated totals")
+        void shouldUseCachedCountForEstimatedTotals() {
+            Slice<ProductSummary> productSlice = new SliceImpl<>(List.of(productSummary), PageRequest.of(0, 10), false);
+            when(productRepository.findSummarySliceByFilters(eq("iPhone"), any(), any(Pageable.class))).thenReturn(productSlice);
+            when(productCountCache.estimate("iPhone", null)).thenReturn(25L);
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts("iPhone", null, 0, 10, null, TotalsMode.ESTIMATED);
+
+            assertThat(result.getTotalElements()).isEqualTo(25L);
+            assertThat(result.getTotalPages()).isEqualTo(3);
+            assertThat(result.getTotals()).isEqualTo(TotalsMode.ESTIMATED);
+            verify(productRepository, never()).findSummariesByFilters(any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should resolve name search through the index without counting")
+        void shouldResolveNameSearchThroughIndex() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+            ProductSummary other = ProductSummary.builder().id(2L).name("iPhone 15 Pro").createdAt(createdAt).build();
+            productSummary.setCreatedAt(createdAt);
+            when(productSearchIndex.search("iphone", null)).thenReturn(Optional.of(List.of(
+                    new ProductSearchIndex.Match(2L, createdAt),
+                    new ProductSearchIndex.Match(1L, createdAt),
+                    new ProductSearchIndex.Match(3L, createdAt.minusDays(1)))));
+            when(productRepository.findSummariesByIds(List.of(2L, 1L))).thenReturn(List.of(productSummary, other));
+            when(productMapper.toDto(any(ProductSummary.class))).thenAnswer(invocation -> ProductDto.builder()
+                    .id(invocation.<ProductSummary>getArgument(0).getId())
+                    .build());
+
+            PagedResponse<ProductDto> result = productService.getAllProducts("iphone", null, 0, 2, null, TotalsMode.EXACT);
+
+            assertThat(result.getContent()).extracting(ProductDto::getId).containsExactly(2L, 1L);
+            assertThat(result.getTotalElements()).isEqualTo(3);
+            assertThat(result.isLast()).isFalse();
+            assertThat(ProductCursor.decode(result.getNextCursor()).getId()).isEqualTo(1L);
+            verify(productRepository, never()).findSummariesByFilters(any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should continue an index search after the cursor")
+        void shouldContinueIndexSearchAfterCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+            when(productSearchIndex.search("iphone", null)).thenReturn(Optional.of(List.of(
+                    new ProductSearchIndex.Match(2L, createdAt),
+                    new ProductSearchIndex.Match(1L, createdAt))));
+            when(productRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(productSummary));
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts(
+                    "iphone", null, 0, 10, ProductCursor.encode(createdAt, 2L), TotalsMode.EXACT);
+
+            assertThat(result.getContent()).containsExactly(productDto);
+            assertThat(result.isLast()).isTrue();
+            verify(productRepository, never()).findSummariesAfter(any(), any(), any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the trigram search when the index is not ready")
+        void shouldFallBackToTrigramSearch() {
+            when(productTrigramSearch.isEnabled()).thenReturn(true);
+            when(productTrigramSearch.findIds("iphone", 1L, 11, 0L)).thenReturn(List.of(1L));
+            when(productTrigramSearch.count("iphone", 1L)).thenReturn(1L);
+            when(productRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(productSummary));
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts("iphone", 1L, 0, 10, null, TotalsMode.EXACT);
+
+            assertThat(result.getContent()).containsExactly(productDto);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+            assertThat(result.isLast()).isTrue();
+            verify(productRepository, never()).findSummariesByFilters(any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should estimate trigram search totals with the trigram count")
+        void shouldEstimateTrigramTotalsWithTrigramCount() {
+            when(productTrigramSearch.isEnabled()).thenReturn(true);
+            when(productTrigramSearch.findIds("iphone", null, 11, 0L)).thenReturn(List.of(1L));
+            when(productCountCache.estimate(eq("iphone"), isNull(), any())).thenAnswer(invocation ->
+                    invocation.<LongSupplier>getArgument(2).getAsLong());
+            when(productTrigramSearch.count("iphone", null)).thenReturn(7L);
+            when(productRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(productSummary));
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts("iphone", null, 0, 10, null, TotalsMode.ESTIMATED);
+
+            assertThat(result.getTotalElements()).isEqualTo(7);
+            verify(productRepository, never()).countByFilters(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should continue a trigram search after the cursor")
+        void shouldContinueTrigramSearchAfterCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+            productSummary.setCreatedAt(createdAt.minusDays(1));
+            when(productTrigramSearch.isEnabled()).thenReturn(true);
+            when(productTrigramSearch.findIdsAfter("iphone", null, createdAt, 2L, 2)).thenReturn(List.of(1L, 3L));
+            when(productRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(productSummary));
+            when(productMapper.toDto(productSummary)).thenReturn(productDto);
+
+            PagedResponse<ProductDto> result = productService.getAllProducts(
+                    "iphone", null, 0, 1, ProductCursor.encode(createdAt, 2L), TotalsMode.EXACT);
+
+            assertThat(result.getContent()).containsExactly(productDto);
+            assertThat(result.isLast()).isFalse();
+            verify(productRepository, never()).findSummariesAfter(any(), any(), any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> productService.getAllProducts(null, null, 0, 10, "not-a-cursor", TotalsMode.EXACT))
+                    .isInstanceOf(InvalidOperationException.class);
         }
     }
 
@@ -144,7 +355,7 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should return product when found")
         void shouldReturnProductWhenFound() {
-            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+            when(productRepository.findWithCategoryAndSkusById(1L)).thenReturn(Optional.of(product));
             when(productMapper.toDto(product)).thenReturn(productDto);
 
             ProductDto result = productService.getProductById(1L);
@@ -152,15 +363,41 @@ class ProductServiceTest {
             assertThat(result.getName()).isEqualTo("iPhone 15");
         }
 
+        @Test
+        @DisplayName("Should stamp the product from the same read as its body")
+        void shouldStampFromSameRead() {
+            product.setVersion(3L);
+            category.setVersion(1L);
+            product.getSkus().add(Sku.builder().id(1L).updatedAt(product.getUpdatedAt().plusMinutes(1)).build());
+            when(productRepository.findWithCategoryAndSkusById(1L)).thenReturn(Optional.of(product));
+            when(productMapper.toDto(product)).thenReturn(productDto);
+
+            Stamped<ProductDto> result = productService.getStampedProductById(1L);
+
+            assertThat(result.getValue()).isSameAs(productDto);
+            assertThat(result.getStamp().getEtag()).isEqualTo("3.1.1");
+            assertThat(result.getStamp().getLastModified()).isEqualTo(product.getUpdatedAt().plusMinutes(1));
+        }
+
         @Test
         @DisplayName("Should throw exception when product not found")
         void shouldThrowExceptionWhenProductNotFound() {
-            when(productRepository.findById(999L)).thenReturn(Optional.empty());
+            when(productRepository.findWithCategoryAndSkusById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> productService.getProductById(999L))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Product not found");
         }
+
+        @Test
+        @DisplayName("Should verify existence without loading the product")
+        void shouldVerifyProductExists() {
+            when(productRepository.existsById(999L)).thenReturn(false);
+
+            assertThatThrownBy(() -> productService.verifyProductExists(999L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(productRepository, never()).findById(any());
+        }
     }
 
     @Nested
@@ -170,7 +407,8 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should create product successfully")
         void shouldCreateProductSuccessfully() {
-            when(categoryService.findCategoryById(1L)).thenReturn(category);
+            when(categoryRepository.existsById(1L)).thenReturn(true);
+            when(categoryRepository.getReferenceById(1L)).thenReturn(category);
             when(productRepository.existsByNameAndCategoryId(createRequest.getName(), 1L)).thenReturn(false);
             when(productMapper.toEntity(createRequest)).thenReturn(product);
             when(productRepository.save(any(Product.class))).thenReturn(product);
@@ -179,28 +417,45 @@ class ProductServiceTest {
             ProductDto result = productService.createProduct(createRequest);
 
             assertThat(result.getName()).isEqualTo("iPhone 15");
+            assertThat(product.getCategory()).isSameAs(category);
             verify(productRepository).save(any(Product.class));
+            verify(productSearchIndex).indexAfterCommit(product);
+            verify(catalogVersion).bumpAfterCommit();
         }
 
         @Test
         @DisplayName("Should throw exception when product name exists in category")
         void shouldThrowExceptionWhenProductNameExistsInCategory() {
-            when(categoryService.findCategoryById(1L)).thenReturn(category);
+            when(categoryRepository.existsById(1L)).thenReturn(true);
+            when(categoryService.findCategoryById(1L)).thenReturn(categoryDto);
             when(productRepository.existsByNameAndCategoryId(createRequest.getName(), 1L)).thenReturn(true);
 
             assertThatThrownBy(() -> productService.createProduct(createRequest))
-                    .isInstanceOf(DuplicateResourceException.class);
+                    .isInstanceOf(DuplicateResourceException.class)
+                    .hasMessageContaining(categoryDto.getName());
         }
 
         @Test
         @DisplayName("Should throw exception when category not found")
         void shouldThrowExceptionWhenCategoryNotFound() {
-            when(categoryService.findCategoryById(999L))
-                    .thenThrow(new ResourceNotFoundException("Category", "id", 999L));
+            when(categoryRepository.existsById(999L)).thenReturn(false);
 
             createRequest.setCategoryId(999L);
             assertThatThrownBy(() -> productService.createProduct(createRequest))
                     .isInstanceOf(ResourceNotFoundException.class);
+            verify(productRepository, never()).save(any(Product.class));
+        }
+
+        @Test
+        @DisplayName("Should check category against the database, not the category cache")
+        void shouldRejectCategoryDeletedBehindTheCache() {
+            lenient().when(categoryService.findCategoryById(1L)).thenReturn(categoryDto);
+            when(categoryRepository.existsById(1L)).thenReturn(false);
+
+            assertThatThrownBy(() -> productService.createProduct(createRequest))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(categoryRepository, never()).getReferenceById(any());
+            verify(productRepository, never()).save(any(Product.class));
         }
     }
 
@@ -211,12 +466,12 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should update product successfully")
         void shouldUpdateProductSuccessfully() {
-            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+            when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product));
             when(productRepository.existsByNameAndCategoryIdAndIdNot(any(), any(), any())).thenReturn(false);
-            when(productRepository.save(any(Product.class))).thenReturn(product);
+            when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
             when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
-            ProductDto result = productService.updateProduct(1L, updateRequest);
+            ProductDto result = productService.updateProduct(1L, updateRequest, null);
 
             assertThat(result).isNotNull();
             verify(productMapper).updateEntityFromRequest(any(Product.class), eq(updateRequest));
@@ -228,15 +483,41 @@ class ProductServiceTest {
             Category newCategory = Category.builder().id(2L).name("Phones").build();
             updateRequest.setCategoryId(2L);
 
-            when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-            when(categoryService.findCategoryById(2L)).thenReturn(newCategory);
+            when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product));
+            when(categoryRepository.existsById(2L)).thenReturn(true);
+            when(categoryRepository.getReferenceById(2L)).thenReturn(newCategory);
             when(productRepository.existsByNameAndCategoryIdAndIdNot(any(), any(), any())).thenReturn(false);
-            when(productRepository.save(any(Product.class))).thenReturn(product);
+            when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
             when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
-            productService.updateProduct(1L, updateRequest);
+            productService.updateProduct(1L, updateRequest, null);
+
+            verify(categoryRepository).existsById(2L);
+            assertThat(product.getCategory()).isSameAs(newCategory);
+        }
+
+        @Test
+        @DisplayName("Should reject moving product to a category that no longer exists")
+        void shouldRejectMoveToDeletedCategory() {
+            updateRequest.setCategoryId(2L);
+            when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product));
+            when(categoryRepository.existsById(2L)).thenReturn(false);
+
+            assertThatThrownBy(() -> productService.updateProduct(1L, updateRequest, null))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(productRepository, never()).saveAndFlush(any(Product.class));
+        }
 
-            verify(categoryService).findCategoryById(2L);
+        @Test
+        @DisplayName("Should reject update when expected version does not match")
+        void shouldRejectUpdateOnVersionMismatch() {
+            product.setVersion(3L);
+            when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product));
+
+            assertThatThrownBy(() -> productService.updateProduct(1L, updateRequest, 2L))
+                    .isInstanceOf(PreconditionFailedException.class);
+            verify(productRepository, never()).saveAndFlush(any(Product.class));
+            verify(productRepository, never()).findById(any());
         }
     }
 
@@ -0,0 +1,223 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.CreateProductRequest;
+import com.ecommerce.inventory.dto.CreateSkuRequest;
+import com.ecommerce.inventory.dto.ProductDto;
+import com.ecommerce.inventory.dto.Stamped;
+import com.ecommerce.inventory.dto.UpdateCategoryRequest;
+import com.ecommerce.inventory.dto.UpdateProductRequest;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Second-level cache regions must never serve a row older than the last write made through the
+ * services, whether that write goes through the entity or a bulk UPDATE, and reads that carry a
+ * version must see writes made by other instances.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SkuService skuService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Category category;
+    private Product product;
+    private Sku sku;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        category = categoryRepository.save(Category.builder().name("L2 Category").build());
+        product = productRepository.save(Product.builder()
+                .name("L2 Product")
+                .basePrice(new BigDecimal("10.00"))
+                .brand("Test")
+                .category(category)
+                .build());
+        sku = skuRepository.save(Sku.builder()
+                .skuCode("L2-SKU")
+                .name("L2 SKU")
+                .price(new BigDecimal("10.00"))
+                .quantity(100)
+                .product(product)
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated category reads from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        categoryRepository.findById(category.getId());
+        categoryRepository.findById(category.getId());
+
+        assertThat(statistics.getDomainDataRegionStatistics("categories").getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should answer conditional GETs and If-Match from a product changed by another instance")
+    void shouldSeeProductChangedBehindTheCache() {
+        ProductDto before = productService.getProductById(product.getId());
+        // Another instance's write, which nothing on this instance hears about.
+        jdbcTemplate.update("UPDATE products SET name = ?, version = version + 1 WHERE id = ?",
+                "L2 Product v2", product.getId());
+        Long current = before.getVersion() + 1;
+
+        assertThat(productService.getProductStamp(product.getId()).getEtag()).startsWith(current + ".");
+        assertThat(productService.getProductById(product.getId())).satisfies(dto -> {
+            assertThat(dto.getName()).isEqualTo("L2 Product v2");
+            assertThat(dto.getVersion()).isEqualTo(current);
+        });
+        assertThatThrownBy(() -> productService.updateProduct(product.getId(),
+                UpdateProductRequest.builder().name("L2 Product v3").build(), before.getVersion()))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(productService.updateProduct(product.getId(),
+                UpdateProductRequest.builder().name("L2 Product v3").build(), current).getName())
+                .isEqualTo("L2 Product v3");
+    }
+
+    @Test
+    @DisplayName("Should show a category changed by another instance under a matching tag")
+    void shouldSeeCategoryChangedBehindTheCache() {
+        assertThat(productService.getProductById(product.getId()).getCategoryName()).isEqualTo("L2 Category");
+        jdbcTemplate.update("UPDATE categories SET name = ?, version = version + 1 WHERE id = ?",
+                "L2 Category v2", category.getId());
+
+        Stamped<ProductDto> stamped = productService.getStampedProductById(product.getId());
+
+        assertThat(stamped.getValue().getCategoryName()).isEqualTo("L2 Category v2");
+        assertThat(stamped.getStamp()).isEqualTo(productService.getProductStamp(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject a product for a category deleted behind the caches")
+    void shouldRejectCategoryDeletedBehindTheCache() {
+        Category doomed = categoryRepository.save(Category.builder().name("L2 Doomed").build());
+        categoryService.findCategoryById(doomed.getId());
+        categoryRepository.findById(doomed.getId());
+        // Another instance deletes the category; this instance's caches still hold it.
+        jdbcTemplate.update("DELETE FROM categories WHERE id = ?", doomed.getId());
+
+        assertThatThrownBy(() -> productService.createProduct(CreateProductRequest.builder()
+                .name("L2 Orphan")
+                .basePrice(new BigDecimal("10.00"))
+                .brand("Test")
+                .categoryId(doomed.getId())
+                .build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> productService.updateProduct(product.getId(),
+                UpdateProductRequest.builder().categoryId(doomed.getId()).build(), null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale product after an update")
+    void shouldRefreshProductAfterUpdate() {
+        productService.getProductById(product.getId());
+
+        productService.updateProduct(product.getId(), UpdateProductRequest.builder().name("L2 Product v2").build(), null);
+
+        assertThat(productService.getProductById(product.getId()).getName()).isEqualTo("L2 Product v2");
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale category after an update")
+    void shouldRefreshCategoryAfterUpdate() {
+        assertThat(productService.getProductById(product.getId()).getCategoryName()).isEqualTo("L2 Category");
+
+        categoryService.updateCategory(category.getId(), UpdateCategoryRequest.builder().name("L2 Category v2").build());
+
+        assertThat(productService.getProductById(product.getId()).getCategoryName()).isEqualTo("L2 Category v2");
+    }
+
+    @Test
+    @DisplayName("Should keep products, SKUs and query results out of the cache")
+    void shouldNotCacheProductsSkusOrQueries() {
+        productService.getProductById(product.getId());
+        skuService.getSkusByProductId(product.getId());
+        skuRepository.findById(sku.getId());
+
+        assertThat(statistics.getSecondLevelCacheRegionNames()).doesNotContain("products", "skus", "product-skus");
+        assertThat(statistics.getQueryCacheHitCount() + statistics.getQueryCachePutCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale SKU after a bulk stock update")
+    void shouldRefreshSkuAfterStockUpdate() {
+        assertThat(skuRepository.findById(sku.getId())).get().extracting(Sku::getQuantity).isEqualTo(100);
+
+        skuService.decrementStock(product.getId(), sku.getId(), 5);
+
+        assertThat(skuRepository.findById(sku.getId())).get().extracting(Sku::getQuantity).isEqualTo(95);
+        assertThat(skuService.getSkusByProductId(product.getId())).singleElement()
+                .satisfies(dto -> assertThat(dto.getQuantity()).isEqualTo(95));
+    }
+
+    @Test
+    @DisplayName("Should count a new SKU in the cached product")
+    void shouldRefreshSkuCollectionAfterCreate() {
+        assertThat(productService.getProductById(product.getId()).getSkuCount()).isEqualTo(1);
+
+        skuService.createSku(product.getId(), CreateSkuRequest.builder()
+                .skuCode("L2-SKU-2")
+                .name("L2 SKU 2")
+                .price(new BigDecimal("10.00"))
+                .quantity(1)
+                .build());
+
+        assertThat(productService.getProductById(product.getId()).getSkuCount()).isEqualTo(2);
+    }
+}
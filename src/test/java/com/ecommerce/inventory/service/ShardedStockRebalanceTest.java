@@ -0,0 +1,123 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.entity.SkuStockShard;
+import com.ecommerce.inventory.mapper.SkuMapper;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.ecommerce.inventory.repository.SkuStockShardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A shard decrement committed while the rebalancer is working on the same SKU must survive the
+ * rebalance, or the sold units come back as available stock.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ShardedStockRebalanceTest {
+
+    @Autowired
+    private ShardedStockService shardedStockService;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private SkuStockShardRepository shardRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SkuMapper skuMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Sku sku;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder().name("Rebalance").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Rebalance Product")
+                .basePrice(new BigDecimal("10.00"))
+                .brand("Test")
+                .category(category)
+                .build());
+        sku = skuRepository.save(Sku.builder()
+                .skuCode("REBALANCE-1")
+                .name("Rebalance SKU")
+                .price(new BigDecimal("10.00"))
+                .quantity(12)
+                .product(product)
+                .build());
+        shardedStockService.enableSharding(product.getId(), sku.getId(), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRepository.deleteAll();
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should keep a decrement committed while the rebalancer reads skewed shards")
+    void shouldKeepConcurrentDecrement() {
+        jdbcTemplate.update("UPDATE sku_stock_shards SET quantity = CASE shard_index "
+                + "WHEN 0 THEN 9 WHEN 1 THEN 0 ELSE 3 END WHERE sku_id = ?", sku.getId());
+
+        // Another checkout takes 5 units from shard 0 just before the rebalancer locks the shards.
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        AtomicBoolean decremented = new AtomicBoolean();
+        SkuStockShardRepository racingRepository = (SkuStockShardRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{SkuStockShardRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllBySkuIdForUpdate") && decremented.compareAndSet(false, true)) {
+                        CompletableFuture.runAsync(() -> checkout.executeWithoutResult(status ->
+                                shardRepository.decrementQuantity(sku.getId(), 0, 5))).join();
+                    }
+                    try {
+                        return method.invoke(shardRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+
+        new ShardedStockService(skuRepository, racingRepository, skuMapper, transactionManager).rebalance();
+
+        assertThat(decremented).isTrue();
+        assertThat(shardRepository.findBySkuIdOrderByShardIndex(sku.getId()))
+                .extracting(SkuStockShard::getQuantity)
+                .containsExactly(3, 2, 2);
+        assertThat(skuRepository.findById(sku.getId()).orElseThrow().getQuantity()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,202 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.SkuDto;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.entity.SkuStockShard;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.mapper.SkuMapper;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.ecommerce.inventory.repository.SkuStockShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedStockServiceTest {
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @Mock
+    private SkuStockShardRepository shardRepository;
+
+    @Mock
+    private SkuMapper skuMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShardedStockService shardedStockService;
+    private Sku sku;
+
+    @BeforeEach
+    void setUp() {
+        shardedStockService = new ShardedStockService(skuRepository, shardRepository, skuMapper, transactionManager);
+
+        sku = Sku.builder()
+                .id(1L)
+                .skuCode("IPHONE15-128-BLK")
+                .quantity(10)
+                .build();
+    }
+
+    private SkuStockShard shard(int index, int quantity) {
+        return SkuStockShard.builder().sku(sku).shardIndex(index).quantity(quantity).build();
+    }
+
+    @Nested
+    @DisplayName("Enable Sharding Tests")
+    class EnableShardingTests {
+
+        @Test
+        @DisplayName("Should split stock evenly across shards")
+        @SuppressWarnings("unchecked")
+        void shouldSplitStockEvenly() {
+            when(skuRepository.findByIdAndProductIdForUpdate(1L, 1L)).thenReturn(Optional.of(sku));
+            when(skuRepository.saveAndFlush(sku)).thenReturn(sku);
+            when(skuMapper.toDto(sku)).thenReturn(new SkuDto());
+
+            shardedStockService.enableSharding(1L, 1L, 4);
+
+            ArgumentCaptor<List<SkuStockShard>> captor = ArgumentCaptor.forClass(List.class);
+            verify(shardRepository).saveAll(captor.capture());
+            assertThat(captor.getValue()).extracting(SkuStockShard::getQuantity).containsExactly(3, 3, 2, 2);
+            assertThat(captor.getValue()).extracting(SkuStockShard::getShardIndex).containsExactly(0, 1, 2, 3);
+            assertThat(sku.getShardCount()).isEqualTo(4);
+            assertThat(sku.getQuantity()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should re-split from the shard total when shrinking")
+        void shouldResplitWhenShrinking() {
+            sku.setShardCount(3);
+            SkuStockShard extra = shard(2, 5);
+            when(skuRepository.findByIdAndProductIdForUpdate(1L, 1L)).thenReturn(Optional.of(sku));
+            when(shardRepository.findAllBySkuIdForUpdate(1L)).thenReturn(List.of(shard(0, 1), shard(1, 0), extra));
+            when(skuRepository.saveAndFlush(sku)).thenReturn(sku);
+
+            shardedStockService.enableSharding(1L, 1L, 2);
+
+            verify(shardRepository).deleteAll(List.of(extra));
+            assertThat(sku.getShardCount()).isEqualTo(2);
+            assertThat(sku.getQuantity()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should reject a SKU with reserved stock")
+        void shouldRejectReservedSku() {
+            sku.setReservedQuantity(2);
+            when(skuRepository.findByIdAndProductIdForUpdate(1L, 1L)).thenReturn(Optional.of(sku));
+
+            assertThatThrownBy(() -> shardedStockService.enableSharding(1L, 1L, 4))
+                    .isInstanceOf(InvalidOperationException.class);
+            verify(shardRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sharded Stock Update Tests")
+    class StockUpdateTests {
+
+        @BeforeEach
+        void enableShards() {
+            sku.setShardCount(4);
+        }
+
+        @Test
+        @DisplayName("Should take stock from the first shard that covers it")
+        void shouldDecrementSingleShard() {
+            when(shardRepository.decrementQuantity(eq(1L), anyInt(), eq(2))).thenReturn(0, 1);
+            when(shardRepository.sumQuantityBySkuId(1L)).thenReturn(8L);
+
+            assertThat(shardedStockService.decrement(sku, 2)).isEqualTo(8);
+            verify(shardRepository, times(2)).decrementQuantity(eq(1L), anyInt(), eq(2));
+            verify(shardRepository, never()).findAllBySkuIdForUpdate(any());
+        }
+
+        @Test
+        @DisplayName("Should drain across shards when no single shard covers the request")
+        void shouldDrainAcrossShards() {
+            List<SkuStockShard> shards = List.of(shard(0, 2), shard(1, 3), shard(2, 1), shard(3, 0));
+            when(shardRepository.decrementQuantity(eq(1L), anyInt(), eq(5))).thenReturn(0);
+            when(shardRepository.findAllBySkuIdForUpdate(1L)).thenReturn(shards);
+
+            assertThat(shardedStockService.decrement(sku, 5)).isEqualTo(1);
+            assertThat(shards).extracting(SkuStockShard::getQuantity).containsExactly(0, 0, 1, 0);
+        }
+
+        @Test
+        @DisplayName("Should fail when the shards together do not cover the request")
+        void shouldFailWhenShardsInsufficient() {
+            List<SkuStockShard> shards = List.of(shard(0, 2), shard(1, 1), shard(2, 0), shard(3, 0));
+            when(shardRepository.decrementQuantity(eq(1L), anyInt(), eq(5))).thenReturn(0);
+            when(shardRepository.findAllBySkuIdForUpdate(1L)).thenReturn(shards);
+
+            assertThatThrownBy(() -> shardedStockService.decrement(sku, 5))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available: 3");
+            assertThat(shards).extracting(SkuStockShard::getQuantity).containsExactly(2, 1, 0, 0);
+        }
+
+        @Test
+        @DisplayName("Should add stock to one shard")
+        void shouldIncrementOneShard() {
+            when(shardRepository.incrementQuantity(eq(1L), anyInt(), eq(5))).thenReturn(1);
+            when(shardRepository.sumQuantityBySkuId(1L)).thenReturn(15L);
+
+            assertThat(shardedStockService.increment(sku, 5)).isEqualTo(15);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebalance Tests")
+    class RebalanceTests {
+
+        @Test
+        @DisplayName("Should even out skewed shards and refresh the cached total")
+        void shouldRebalanceSkewedShards() {
+            List<SkuStockShard> shards = List.of(shard(0, 9), shard(1, 0), shard(2, 3));
+            when(skuRepository.findShardedSkuIds()).thenReturn(List.of(1L));
+            when(shardRepository.findAllBySkuIdForUpdate(1L)).thenReturn(shards);
+
+            shardedStockService.rebalance();
+
+            assertThat(shards).extracting(SkuStockShard::getQuantity).containsExactly(4, 4, 4);
+            verify(shardRepository).saveAllAndFlush(shards);
+            verify(skuRepository).refreshShardedQuantity(eq(1L), eq(12), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should only refresh the total when shards are balanced")
+        void shouldOnlyRefreshBalancedShards() {
+            when(skuRepository.findShardedSkuIds()).thenReturn(List.of(1L));
+            List<SkuStockShard> shards = List.of(shard(0, 4), shard(1, 3));
+            when(shardRepository.findAllBySkuIdForUpdate(1L)).thenReturn(shards);
+
+            shardedStockService.rebalance();
+
+            assertThat(shards).extracting(SkuStockShard::getQuantity).containsExactly(4, 3);
+            verify(shardRepository, never()).saveAllAndFlush(anyList());
+            verify(skuRepository).refreshShardedQuantity(eq(1L), eq(7), any(LocalDateTime.class));
+        }
+    }
+}
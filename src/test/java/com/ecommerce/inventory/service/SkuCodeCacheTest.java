@@ -0,0 +1,101 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.SkuDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkuCodeCacheTest {
+
+    private SkuCodeCache skuCodeCache;
+    private Map<Long, SkuDto> rows;
+    private List<Set<Long>> idLoads;
+    private List<Set<String>> codeLoads;
+
+    @BeforeEach
+    void setUp() {
+        skuCodeCache = new SkuCodeCache(new SimpleMeterRegistry(), "maximumSize=100");
+        rows = new HashMap<>();
+        idLoads = new ArrayList<>();
+        codeLoads = new ArrayList<>();
+        save(1L, "IPHONE15-128-BLK", 10);
+        save(2L, "IPHONE15-256-WHT", 20);
+    }
+
+    private void save(long id, String skuCode, int quantity) {
+        rows.put(id, SkuDto.builder().id(id).skuCode(skuCode).quantity(quantity).build());
+    }
+
+    private List<SkuDto> byIds(Set<Long> ids) {
+        idLoads.add(Set.copyOf(ids));
+        return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<SkuDto> byCodes(Set<String> skuCodes) {
+        codeLoads.add(Set.copyOf(skuCodes));
+        return rows.values().stream().filter(sku -> skuCodes.contains(sku.getSkuCode())).toList();
+    }
+
+    private Map<String, SkuDto> getAll(String... skuCodes) {
+        return skuCodeCache.getAll(List.of(skuCodes), this::byIds, this::byCodes);
+    }
+
+    @Test
+    @DisplayName("Should resolve only uncached codes by code and read cached ones by id")
+    void shouldResolveMissingCodesOnce() {
+        getAll("IPHONE15-128-BLK");
+
+        Map<String, SkuDto> result = getAll("IPHONE15-256-WHT", "UNKNOWN", "IPHONE15-128-BLK");
+
+        assertThat(result.keySet()).containsExactly("IPHONE15-256-WHT", "IPHONE15-128-BLK");
+        assertThat(codeLoads).containsExactly(Set.of("IPHONE15-128-BLK"), Set.of("IPHONE15-256-WHT", "UNKNOWN"));
+        assertThat(idLoads).containsExactly(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should return the current row, not the one seen when the code was cached")
+    void shouldReadRowsFresh() {
+        getAll("IPHONE15-128-BLK");
+
+        save(1L, "IPHONE15-128-BLK", 3);
+
+        assertThat(getAll("IPHONE15-128-BLK").get("IPHONE15-128-BLK").getQuantity()).isEqualTo(3);
+        assertThat(codeLoads).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve a code again when its SKU was deleted or recoded")
+    void shouldResolveStaleMappingsAgain() {
+        getAll("IPHONE15-128-BLK", "IPHONE15-256-WHT");
+
+        rows.remove(1L);
+        save(3L, "IPHONE15-128-BLK", 5);
+        save(2L, "IPHONE15-256-SLV", 20);
+        Map<String, SkuDto> result = getAll("IPHONE15-128-BLK", "IPHONE15-256-WHT");
+
+        assertThat(result.keySet()).containsExactly("IPHONE15-128-BLK");
+        assertThat(result.get("IPHONE15-128-BLK").getId()).isEqualTo(3L);
+        assertThat(codeLoads.get(1)).containsExactlyInAnyOrder("IPHONE15-128-BLK", "IPHONE15-256-WHT");
+        assertThat(skuCodeCache.entries()).containsExactly(Map.entry("IPHONE15-128-BLK", 3L));
+    }
+
+    @Test
+    @DisplayName("Should prime mappings without replacing cached ones")
+    void shouldPrime() {
+        getAll("IPHONE15-128-BLK");
+
+        int primed = skuCodeCache.prime(Map.of("IPHONE15-128-BLK", 9L, "IPHONE15-256-WHT", 2L));
+        Map<String, SkuDto> result = getAll("IPHONE15-128-BLK", "IPHONE15-256-WHT");
+
+        assertThat(primed).isEqualTo(1);
+        assertThat(result.get("IPHONE15-128-BLK").getId()).isEqualTo(1L);
+        assertThat(codeLoads).hasSize(1);
+        assertThat(skuCodeCache.entries()).containsOnly(
+                Map.entry("IPHONE15-128-BLK", 1L), Map.entry("IPHONE15-256-WHT", 2L));
+    }
+}
@@ -0,0 +1,205 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.BulkSkuItemResult;
+import com.ecommerce.inventory.dto.BulkSkuResult;
+import com.ecommerce.inventory.entity.Category;
+import com.ecommerce.inventory.entity.Product;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.repository.CategoryRepository;
+import com.ecommerce.inventory.repository.ProductRepository;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SkuIngestServiceTest {
+
+    @Autowired
+    private SkuService skuService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @SpyBean
+    private SkuRepository skuRepository;
+
+    private SkuIngestService skuIngestService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        // Batches of two, so that a handful of elements spans several batches.
+        skuIngestService = new SkuIngestService(skuService, productService, objectMapper, validator, entityManager,
+                transactionManager, 2);
+        Category category = categoryRepository.save(Category.builder().name("Ingest Category").build());
+        product = productRepository.save(Product.builder()
+                .name("Ingest Product")
+                .brand("Test")
+                .basePrice(new BigDecimal("10.00"))
+                .category(category)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    private static String sku(String skuCode) {
+        return String.format("{\"skuCode\":\"%s\",\"name\":\"%s\",\"price\":10.00,\"quantity\":5}", skuCode, skuCode);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should create every valid element across batches")
+    void shouldCreateAcrossBatches() throws IOException {
+        BulkSkuResult result = skuIngestService.ingestSkus(product.getId(),
+                body("[" + sku("INGEST-1") + "," + sku("INGEST-2") + "," + sku("INGEST-3") + "]"));
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getResults()).isEmpty();
+        assertThat(skuRepository.findByProductId(product.getId()))
+                .extracting(Sku::getSkuCode)
+                .containsExactlyInAnyOrder("INGEST-1", "INGEST-2", "INGEST-3");
+    }
+
+    @Test
+    @DisplayName("Should report invalid, mistyped and duplicate elements by their array index")
+    void shouldReportFailedElements() throws IOException {
+        BulkSkuResult result = skuIngestService.ingestSkus(product.getId(), body("["
+                + sku("INGEST-1") + ","
+                + "{\"skuCode\":\"INGEST-2\",\"name\":\"INGEST-2\",\"price\":\"abc\",\"quantity\":5},"
+                + "{\"skuCode\":\"INGEST-3\",\"price\":10.00,\"quantity\":5},"
+                + sku("INGEST-4") + ","
+                + sku("INGEST-1") + "]"));
+
+        assertThat(result.getRequested()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(BulkSkuItemResult::getIndex).containsExactly(1, 2, 4);
+        assertThat(result.getResults()).extracting(BulkSkuItemResult::getSkuCode)
+                .containsExactly("INGEST-2", "INGEST-3", "INGEST-1");
+        assertThat(result.getResults().get(1).getError()).isEqualTo("SKU name is required");
+        assertThat(result.getResults().get(2).getError()).contains("already exists");
+        assertThat(result.isErrorsTruncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should retry a rolled-back batch one SKU at a time")
+    void shouldRetryRolledBackBatchOneAtATime() throws IOException {
+        skuRepository.save(Sku.builder()
+                .skuCode("INGEST-2")
+                .name("INGEST-2")
+                .price(new BigDecimal("10.00"))
+                .quantity(5)
+                .product(product)
+                .build());
+        // As if another request committed the SKU code after the batch checked for it.
+        doReturn(List.of()).when(skuRepository).findExistingSkuCodes(any());
+
+        BulkSkuResult result = skuIngestService.ingestSkus(product.getId(),
+                body("[" + sku("INGEST-1") + "," + sku("INGEST-2") + "," + sku("INGEST-3") + "]"));
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(BulkSkuItemResult::getIndex).containsExactly(1);
+        assertThat(result.getResults().get(0).getError()).startsWith("SKU rolled back");
+        assertThat(skuRepository.findByProductId(product.getId()))
+                .extracting(Sku::getSkuCode)
+                .containsExactlyInAnyOrder("INGEST-1", "INGEST-2", "INGEST-3");
+    }
+
+    @Test
+    @DisplayName("Should flag failures past the reporting limit as truncated")
+    void shouldTruncateReportedFailures() throws IOException {
+        String nameless = "{\"skuCode\":\"NAMELESS\",\"price\":10.00,\"quantity\":5}";
+        String json = "[" + String.join(",", Collections.nCopies(SkuIngestService.MAX_REPORTED_FAILURES + 1, nameless))
+                + "," + sku("INGEST-1") + "]";
+
+        BulkSkuResult result = skuIngestService.ingestSkus(product.getId(), body(json));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(SkuIngestService.MAX_REPORTED_FAILURES + 1);
+        assertThat(result.getResults()).hasSize(SkuIngestService.MAX_REPORTED_FAILURES);
+        assertThat(result.isErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not an array")
+    void shouldRejectNonArray() {
+        assertThatThrownBy(() -> skuIngestService.ingestSkus(product.getId(), body(sku("INGEST-1"))))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Request body must be a JSON array of SKUs");
+    }
+
+    @Test
+    @DisplayName("Should keep committed batches when the body turns out malformed")
+    void shouldKeepCommittedBatchesOnMalformedBody() {
+        String json = "[" + sku("INGEST-1") + "," + sku("INGEST-2") + "," + sku("INGEST-3") + ",{";
+
+        assertThatThrownBy(() -> skuIngestService.ingestSkus(product.getId(), body(json)))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("after 3 SKUs (2 created)");
+        assertThat(skuRepository.findByProductId(product.getId()))
+                .extracting(Sku::getSkuCode)
+                .containsExactlyInAnyOrder("INGEST-1", "INGEST-2");
+    }
+
+    @Test
+    @DisplayName("Should throw when the product does not exist")
+    void shouldThrowWhenProductMissing() {
+        assertThatThrownBy(() -> skuIngestService.ingestSkus(-1L, body("[]")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -4,6 +4,9 @@ import com.ecommerce.inventory.dto.*;
 import com.ecommerce.inventory.entity.Product;
 import com.ecommerce.inventory.entity.Sku;
 import com.ecommerce.inventory.exception.DuplicateResourceException;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.PreconditionFailedException;
 import com.ecommerce.inventory.exception.ResourceNotFoundException;
 import com.ecommerce.inventory.mapper.SkuMapper;
 import com.ecommerce.inventory.repository.SkuRepository;
@@ -20,11 +23,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -40,6 +46,15 @@ class SkuServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private SkuCodeCache skuCodeCache;
+
     @InjectMocks
     private SkuService skuService;
 
@@ -101,7 +116,6 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should return all SKUs for a product")
         void shouldReturnAllSkusForProduct() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByProductId(1L)).thenReturn(List.of(sku));
             when(skuMapper.toDto(sku)).thenReturn(skuDto);
 
@@ -114,19 +128,19 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should return empty list when no SKUs exist")
         void shouldReturnEmptyListWhenNoSkusExist() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByProductId(1L)).thenReturn(Collections.emptyList());
 
             List<SkuDto> result = skuService.getSkusByProductId(1L);
 
             assertThat(result).isEmpty();
+            verify(productService).verifyProductExists(1L);
         }
 
         @Test
         @DisplayName("Should throw exception when product not found")
         void shouldThrowExceptionWhenProductNotFound() {
-            when(productService.findProductById(999L))
-                    .thenThrow(new ResourceNotFoundException("Product", "id", 999L));
+            doThrow(new ResourceNotFoundException("Product", "id", 999L))
+                    .when(productService).verifyProductExists(999L);
 
             assertThatThrownBy(() -> skuService.getSkusByProductId(999L))
                     .isInstanceOf(ResourceNotFoundException.class);
@@ -140,23 +154,61 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should return SKU when found")
         void shouldReturnSkuWhenFound() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
             when(skuMapper.toDto(sku)).thenReturn(skuDto);
 
             SkuDto result = skuService.getSkuById(1L, 1L);
 
             assertThat(result.getSkuCode()).isEqualTo("IPHONE15-128-BLK");
+            verifyNoInteractions(productService);
         }
 
         @Test
         @DisplayName("Should throw exception when SKU not found")
         void shouldThrowExceptionWhenSkuNotFound() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(999L, 1L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> skuService.getSkuById(1L, 999L))
-                    .isInstanceOf(ResourceNotFoundException.class);
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("SKU not found");
+            verify(productService).verifyProductExists(1L);
+        }
+
+        @Test
+        @DisplayName("Should report the product as missing when it does not exist")
+        void shouldThrowExceptionWhenProductNotFound() {
+            when(skuRepository.findByIdAndProductId(1L, 999L)).thenReturn(Optional.empty());
+            doThrow(new ResourceNotFoundException("Product", "id", 999L))
+                    .when(productService).verifyProductExists(999L);
+
+            assertThatThrownBy(() -> skuService.getSkuById(999L, 1L))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("Product");
+        }
+    }
+
+    @Nested
+    @DisplayName("Get SKU By Code Tests")
+    class GetSkuByCodeTests {
+
+        @Test
+        @DisplayName("Should return SKU when found")
+        void shouldReturnSkuWhenFound() {
+            when(skuCodeCache.getAll(eq(List.of("IPHONE15-128-BLK")), any(), any())).thenReturn(Map.of("IPHONE15-128-BLK", skuDto));
+
+            SkuDto result = skuService.getSkuByCode("IPHONE15-128-BLK");
+
+            assertThat(result).isSameAs(skuDto);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when SKU code not found")
+        void shouldThrowExceptionWhenSkuCodeNotFound() {
+            when(skuCodeCache.getAll(eq(List.of("UNKNOWN")), any(), any())).thenReturn(Map.of());
+
+            assertThatThrownBy(() -> skuService.getSkuByCode("UNKNOWN"))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("skuCode");
         }
     }
 
@@ -177,6 +229,7 @@ class SkuServiceTest {
 
             assertThat(result.getSkuCode()).isEqualTo("IPHONE15-128-BLK");
             verify(skuRepository).save(any(Sku.class));
+            verify(catalogVersion).bumpAfterCommit();
         }
 
         @Test
@@ -191,6 +244,55 @@ class SkuServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk Create SKU Tests")
+    class BulkCreateSkuTests {
+
+        @Test
+        @DisplayName("Should create new SKUs and report existing and repeated codes")
+        void shouldCreateSkusAndReportFailures() {
+            CreateSkuRequest existing = CreateSkuRequest.builder()
+                    .skuCode("EXISTING-CODE")
+                    .name("Existing")
+                    .price(new BigDecimal("10.00"))
+                    .quantity(1)
+                    .build();
+            List<CreateSkuRequest> requests = List.of(createRequest, existing, createRequest);
+
+            when(productService.findProductById(1L)).thenReturn(product);
+            when(skuRepository.findExistingSkuCodes(anyCollection())).thenReturn(List.of("EXISTING-CODE"));
+            when(skuMapper.toEntity(createRequest)).thenReturn(sku);
+            when(skuRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(skuMapper.toDto(sku)).thenReturn(skuDto);
+
+            BulkSkuResult result = skuService.createSkus(1L, requests);
+
+            assertThat(result.getRequested()).isEqualTo(3);
+            assertThat(result.getCreated()).isEqualTo(1);
+            assertThat(result.getFailed()).isEqualTo(2);
+            assertThat(result.getResults()).extracting(BulkSkuItemResult::getStatus).containsExactly(
+                    BulkSkuItemResult.Status.CREATED,
+                    BulkSkuItemResult.Status.FAILED,
+                    BulkSkuItemResult.Status.FAILED);
+            assertThat(result.getResults().get(0).getSku()).isEqualTo(skuDto);
+            assertThat(result.getResults().get(1).getError()).contains("already exists");
+            assertThat(result.getResults().get(2).getError()).contains("Duplicate");
+            verify(productService, times(1)).findProductById(1L);
+            verify(skuRepository, never()).existsBySkuCode(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when product not found")
+        void shouldThrowExceptionWhenProductNotFound() {
+            when(productService.findProductById(999L))
+                    .thenThrow(new ResourceNotFoundException("Product", "id", 999L));
+
+            assertThatThrownBy(() -> skuService.createSkus(999L, List.of(createRequest)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(skuRepository, never()).saveAll(anyList());
+        }
+    }
+
     @Nested
     @DisplayName("Update SKU Tests")
     class UpdateSkuTests {
@@ -198,12 +300,11 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should update SKU successfully")
         void shouldUpdateSkuSuccessfully() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
-            when(skuRepository.save(any(Sku.class))).thenReturn(sku);
+            when(skuRepository.saveAndFlush(any(Sku.class))).thenReturn(sku);
             when(skuMapper.toDto(any(Sku.class))).thenReturn(skuDto);
 
-            SkuDto result = skuService.updateSku(1L, 1L, updateRequest);
+            SkuDto result = skuService.updateSku(1L, 1L, updateRequest, null);
 
             assertThat(result).isNotNull();
             verify(skuMapper).updateEntityFromRequest(any(Sku.class), eq(updateRequest));
@@ -213,13 +314,163 @@ class SkuServiceTest {
         @DisplayName("Should throw exception when updating to existing SKU code")
         void shouldThrowExceptionWhenUpdatingToExistingSkuCode() {
             updateRequest.setSkuCode("EXISTING-CODE");
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
             when(skuRepository.existsBySkuCodeAndIdNot("EXISTING-CODE", 1L)).thenReturn(true);
 
-            assertThatThrownBy(() -> skuService.updateSku(1L, 1L, updateRequest))
+            assertThatThrownBy(() -> skuService.updateSku(1L, 1L, updateRequest, null))
                     .isInstanceOf(DuplicateResourceException.class);
         }
+
+        @Test
+        @DisplayName("Should reject update when expected version does not match")
+        void shouldRejectUpdateOnVersionMismatch() {
+            sku.setVersion(5L);
+            when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
+
+            assertThatThrownBy(() -> skuService.updateSku(1L, 1L, updateRequest, 4L))
+                    .isInstanceOf(PreconditionFailedException.class);
+            verify(skuMapper, never()).updateEntityFromRequest(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when quantity drops below reserved units")
+        void shouldThrowExceptionWhenQuantityBelowReserved() {
+            sku.setReservedQuantity(20);
+            updateRequest.setQuantity(10);
+            when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
+
+            assertThatThrownBy(() -> skuService.updateSku(1L, 1L, updateRequest, null))
+                    .isInstanceOf(InvalidOperationException.class);
+            verify(skuRepository, never()).saveAndFlush(any(Sku.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stock Adjustment Tests")
+    class StockAdjustmentTests {
+
+        @Test
+        @DisplayName("Should decrement stock and return new level")
+        void shouldDecrementStock() {
+            when(skuRepository.decrementQuantity(eq(1L), eq(1L), eq(5), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.findQuantityByIdAndProductId(1L, 1L)).thenReturn(Optional.of(95));
+
+            StockLevelDto result = skuService.decrementStock(1L, 1L, 5);
+
+            assertThat(result.getSkuId()).isEqualTo(1L);
+            assertThat(result.getQuantity()).isEqualTo(95);
+            verify(skuRepository, never()).save(any(Sku.class));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when stock is insufficient")
+        void shouldThrowExceptionWhenStockInsufficient() {
+            when(skuRepository.decrementQuantity(eq(1L), eq(1L), eq(500), any(LocalDateTime.class))).thenReturn(0);
+            when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
+
+            assertThatThrownBy(() -> skuService.decrementStock(1L, 1L, 500))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available: 100");
+        }
+
+        @Test
+        @DisplayName("Should throw exception when decrementing unknown SKU")
+        void shouldThrowExceptionWhenDecrementingUnknownSku() {
+            when(skuRepository.decrementQuantity(eq(999L), eq(1L), eq(1), any(LocalDateTime.class))).thenReturn(0);
+            when(skuRepository.findByIdAndProductId(999L, 1L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> skuService.decrementStock(1L, 999L, 1))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should hand decrements of a sharded SKU to the shards")
+        void shouldDecrementShardedSku() {
+            sku.setShardCount(4);
+            when(skuRepository.decrementQuantity(eq(1L), eq(1L), eq(5), any(LocalDateTime.class))).thenReturn(0);
+            when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
+            when(shardedStockService.decrement(sku, 5)).thenReturn(95);
+
+            StockLevelDto result = skuService.decrementStock(1L, 1L, 5);
+
+            assertThat(result.getQuantity()).isEqualTo(95);
+        }
+
+        @Test
+        @DisplayName("Should reject a sharded SKU in a batch")
+        void shouldRejectShardedSkuInBatch() {
+            sku.setShardCount(4);
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku));
+
+            assertThatThrownBy(() -> skuService.decrementStockBatch(List.of(new StockLineRequest("IPHONE15-128-BLK", 1))))
+                    .isInstanceOf(InvalidOperationException.class);
+            assertThat(sku.getQuantity()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should decrement a batch after merging repeated SKU codes")
+        void shouldDecrementBatch() {
+            Sku other = Sku.builder().id(2L).skuCode("IPHONE15-256-WHT").quantity(10).build();
+            List<StockLineRequest> lines = List.of(
+                    new StockLineRequest("IPHONE15-128-BLK", 3),
+                    new StockLineRequest("IPHONE15-256-WHT", 4),
+                    new StockLineRequest("IPHONE15-128-BLK", 2));
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku, other));
+
+            List<StockLevelDto> result = skuService.decrementStockBatch(lines);
+
+            assertThat(result).extracting(StockLevelDto::getQuantity).containsExactly(95, 6);
+            assertThat(sku.getQuantity()).isEqualTo(95);
+            verify(skuRepository, times(1)).findAllBySkuCodeForUpdate(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should leave every SKU untouched when one line is short")
+        void shouldLeaveBatchUntouchedWhenOneLineShort() {
+            Sku other = Sku.builder().id(2L).skuCode("IPHONE15-256-WHT").quantity(1).build();
+            List<StockLineRequest> lines = List.of(
+                    new StockLineRequest("IPHONE15-128-BLK", 3),
+                    new StockLineRequest("IPHONE15-256-WHT", 4));
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku, other));
+
+            assertThatThrownBy(() -> skuService.decrementStockBatch(lines))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("IPHONE15-256-WHT");
+            assertThat(sku.getQuantity()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should report unknown SKU codes in a batch")
+        void shouldReportUnknownSkuCodesInBatch() {
+            List<StockLineRequest> lines = List.of(
+                    new StockLineRequest("IPHONE15-128-BLK", 3),
+                    new StockLineRequest("UNKNOWN", 1));
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku));
+
+            assertThatThrownBy(() -> skuService.decrementStockBatch(lines))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("UNKNOWN");
+        }
+
+        @Test
+        @DisplayName("Should increment stock and return new level")
+        void shouldIncrementStock() {
+            when(skuRepository.incrementQuantity(eq(1L), eq(1L), eq(10), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.findQuantityByIdAndProductId(1L, 1L)).thenReturn(Optional.of(110));
+
+            StockLevelDto result = skuService.incrementStock(1L, 1L, 10);
+
+            assertThat(result.getQuantity()).isEqualTo(110);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when incrementing unknown SKU")
+        void shouldThrowExceptionWhenIncrementingUnknownSku() {
+            when(skuRepository.incrementQuantity(eq(999L), eq(1L), eq(10), any(LocalDateTime.class))).thenReturn(0);
+
+            assertThatThrownBy(() -> skuService.incrementStock(1L, 999L, 10))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
     }
 
     @Nested
@@ -229,7 +480,6 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should delete SKU successfully")
         void shouldDeleteSkuSuccessfully() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(sku));
 
             skuService.deleteSku(1L, 1L);
@@ -240,7 +490,6 @@ class SkuServiceTest {
         @Test
         @DisplayName("Should throw exception when SKU not found")
         void shouldThrowExceptionWhenSkuNotFound() {
-            when(productService.findProductById(1L)).thenReturn(product);
             when(skuRepository.findByIdAndProductId(999L, 1L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> skuService.deleteSku(1L, 999L))
@@ -0,0 +1,72 @@
+package com.ecommerce.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkuSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back every mapping that was written")
+    void shouldRoundTrip() throws IOException {
+        Path path = directory.resolve("snapshots/skus.bin");
+        Map<String, Long> idsByCode = Map.of("IPHONE15-128-BLK", 1L, "SCHWARZ-MATTIERT-\u00dc", 2L);
+        Instant takenAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        SkuSnapshotFile.write(path, takenAt, idsByCode);
+        SkuSnapshotFile.Snapshot snapshot = SkuSnapshotFile.read(path);
+
+        assertThat(snapshot.takenAt()).isEqualTo(takenAt);
+        assertThat(snapshot.idsByCode()).isEqualTo(idsByCode);
+        try (var files = Files.list(path.getParent())) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace an existing snapshot")
+    void shouldReplaceExistingSnapshot() throws IOException {
+        Path path = directory.resolve("skus.bin");
+        SkuSnapshotFile.write(path, Instant.now(), Map.of("IPHONE15-128-BLK", 1L));
+
+        SkuSnapshotFile.write(path, Instant.now(), Map.of());
+
+        assertThat(SkuSnapshotFile.read(path).idsByCode()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose bytes changed")
+    void shouldRejectCorruptedSnapshot() throws IOException {
+        Path path = directory.resolve("skus.bin");
+        SkuSnapshotFile.write(path, Instant.now(), Map.of("IPHONE15-128-BLK", 1L));
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[30] ^= 1;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> SkuSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Snapshot checksum does not match");
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is too short to be a snapshot")
+    void shouldRejectShortFile() throws IOException {
+        Path path = Files.write(directory.resolve("skus.bin"), new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> SkuSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("invalid size");
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.repository.SkuRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkuSnapshotServiceTest {
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private SkuCodeCache skuCodeCache;
+    private SkuSnapshotService skuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("sku-snapshot.bin");
+        skuCodeCache = new SkuCodeCache(new SimpleMeterRegistry(), "maximumSize=100");
+        skuSnapshotService = new SkuSnapshotService(skuRepository, skuCodeCache, true, path);
+    }
+
+    @Test
+    @DisplayName("Should prime current mappings and drop deleted or recoded SKUs")
+    void shouldCatchUpWhenLoading() throws Exception {
+        SkuSnapshotFile.write(path, Instant.now(), Map.of("UNCHANGED", 1L, "DELETED", 2L, "RECODED", 3L));
+        when(skuRepository.findCodesByIdIn(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, "UNCHANGED"},
+                new Object[]{3L, "RECODED-2"}));
+
+        skuSnapshotService.load();
+
+        assertThat(skuCodeCache.entries()).containsExactly(Map.entry("UNCHANGED", 1L));
+    }
+
+    @Test
+    @DisplayName("Should write the cached mappings")
+    void shouldWriteCachedMappings() throws Exception {
+        skuCodeCache.prime(Map.of("UNCHANGED", 1L));
+
+        skuSnapshotService.write();
+
+        assertThat(SkuSnapshotFile.read(path).idsByCode()).containsExactly(Map.entry("UNCHANGED", 1L));
+    }
+
+    @Test
+    @DisplayName("Should start cold when the snapshot is unreadable")
+    void shouldIgnoreUnreadableSnapshot() throws Exception {
+        Files.write(path, new byte[]{1, 2, 3});
+
+        skuSnapshotService.load();
+
+        assertThat(skuCodeCache.entries()).isEmpty();
+        verifyNoInteractions(skuRepository);
+    }
+
+    @Test
+    @DisplayName("Should neither write nor load when disabled")
+    void shouldDoNothingWhenDisabled() {
+        SkuSnapshotService disabled = new SkuSnapshotService(skuRepository, skuCodeCache, false, path);
+        skuCodeCache.prime(Map.of("UNCHANGED", 1L));
+
+        disabled.write();
+        disabled.load();
+
+        assertThat(path).doesNotExist();
+        verifyNoInteractions(skuRepository);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.StockLevelDto;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockAdjustmentServiceTest {
+
+    @Mock
+    private SkuService skuService;
+
+    @Mock
+    private StockUpdateBatcher stockUpdateBatcher;
+
+    @InjectMocks
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Test
+    @DisplayName("Should go straight to the SKU service when batching is disabled")
+    void shouldUseSkuServiceWhenBatchingDisabled() {
+        StockLevelDto level = StockLevelDto.builder().skuId(1L).quantity(95).build();
+        when(stockUpdateBatcher.isEnabled()).thenReturn(false);
+        when(skuService.decrementStock(1L, 1L, 5)).thenReturn(level);
+
+        assertThat(stockAdjustmentService.decrementStock(1L, 1L, 5)).isEqualTo(level);
+        verify(stockUpdateBatcher, never()).submit(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should route through the batcher when batching is enabled")
+    void shouldUseBatcherWhenBatchingEnabled() {
+        when(stockUpdateBatcher.isEnabled()).thenReturn(true);
+        when(stockUpdateBatcher.submit(1L, 1L, -5)).thenReturn(CompletableFuture.completedFuture(95));
+
+        StockLevelDto result = stockAdjustmentService.decrementStock(1L, 1L, 5);
+
+        assertThat(result.getQuantity()).isEqualTo(95);
+        verifyNoInteractions(skuService);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the batcher's failure unwrapped")
+    void shouldRethrowBatcherFailureUnwrapped() {
+        when(stockUpdateBatcher.isEnabled()).thenReturn(true);
+        when(stockUpdateBatcher.submit(1L, 1L, -5))
+                .thenReturn(CompletableFuture.failedFuture(new InsufficientStockException(1L, 5, 1)));
+
+        assertThatThrownBy(() -> stockAdjustmentService.decrementStock(1L, 1L, 5))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+}
@@ -0,0 +1,282 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.BatchReservationRequest;
+import com.ecommerce.inventory.dto.CreateReservationRequest;
+import com.ecommerce.inventory.dto.ReservationDto;
+import com.ecommerce.inventory.dto.StockLineRequest;
+import com.ecommerce.inventory.entity.ReservationStatus;
+import com.ecommerce.inventory.entity.Sku;
+import com.ecommerce.inventory.entity.StockReservation;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import com.ecommerce.inventory.exception.InvalidOperationException;
+import com.ecommerce.inventory.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.mapper.StockReservationMapper;
+import com.ecommerce.inventory.repository.SkuRepository;
+import com.ecommerce.inventory.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @Mock
+    private StockReservationMapper reservationMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationService reservationService;
+    private Sku sku;
+    private StockReservation reservation;
+    private ReservationDto reservationDto;
+    private CreateReservationRequest createRequest;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new StockReservationService(reservationRepository, skuRepository,
+                reservationMapper, transactionManager, Duration.ofMinutes(15), 1);
+
+        sku = Sku.builder()
+                .id(1L)
+                .skuCode("IPHONE15-128-BLK")
+                .quantity(100)
+                .build();
+
+        reservation = StockReservation.builder()
+                .id(1L)
+                .sku(sku)
+                .cartId("cart-1")
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+
+        reservationDto = ReservationDto.builder()
+                .id(1L)
+                .skuId(1L)
+                .cartId("cart-1")
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .build();
+
+        createRequest = CreateReservationRequest.builder()
+                .skuId(1L)
+                .cartId("cart-1")
+                .quantity(2)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Reserve Tests")
+    class ReserveTests {
+
+        @Test
+        @DisplayName("Should reserve stock with the default TTL")
+        void shouldReserveStock() {
+            when(skuRepository.reserveQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.getReferenceById(1L)).thenReturn(sku);
+            when(reservationRepository.save(any(StockReservation.class))).thenReturn(reservation);
+            when(reservationMapper.toDto(reservation)).thenReturn(reservationDto);
+
+            ReservationDto result = reservationService.reserve(createRequest);
+
+            assertThat(result).isEqualTo(reservationDto);
+            ArgumentCaptor<StockReservation> captor = ArgumentCaptor.forClass(StockReservation.class);
+            verify(reservationRepository).save(captor.capture());
+            assertThat(captor.getValue().getStatus()).isEqualTo(ReservationStatus.ACTIVE);
+            assertThat(captor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when stock is insufficient")
+        void shouldThrowExceptionWhenStockInsufficient() {
+            when(skuRepository.reserveQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(0);
+            sku.setQuantity(1);
+            when(skuRepository.findById(1L)).thenReturn(Optional.of(sku));
+
+            assertThatThrownBy(() -> reservationService.reserve(createRequest))
+                    .isInstanceOf(InsufficientStockException.class);
+            verify(reservationRepository, never()).save(any(StockReservation.class));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when SKU not found")
+        void shouldThrowExceptionWhenSkuNotFound() {
+            when(skuRepository.reserveQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(0);
+            when(skuRepository.findById(1L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> reservationService.reserve(createRequest))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Reserve Tests")
+    class BatchReserveTests {
+
+        @Test
+        @DisplayName("Should reserve every line of a cart and schedule each hold to expire")
+        void shouldReserveEveryLine() throws InterruptedException {
+            Sku other = Sku.builder().id(2L).skuCode("IPHONE15-256-WHT").quantity(5).reservedQuantity(4).build();
+            BatchReservationRequest request = BatchReservationRequest.builder()
+                    .cartId("cart-1")
+                    .items(List.of(new StockLineRequest("IPHONE15-128-BLK", 2), new StockLineRequest("IPHONE15-256-WHT", 1)))
+                    .ttlSeconds(0)
+                    .build();
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku, other));
+            when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<StockReservation> reservations = invocation.getArgument(0);
+                for (int i = 0; i < reservations.size(); i++) {
+                    reservations.get(i).setId(10L + i);
+                }
+                return reservations;
+            });
+
+            List<ReservationDto> result = reservationService.reserveBatch(request);
+            Thread.sleep(5);
+            reservationService.expireReservations();
+
+            assertThat(result).hasSize(2);
+            assertThat(sku.getReservedQuantity()).isEqualTo(2);
+            assertThat(other.getReservedQuantity()).isEqualTo(5);
+            verify(reservationRepository).findById(10L);
+            verify(reservationRepository).findById(11L);
+        }
+
+        @Test
+        @DisplayName("Should reserve nothing when one line is short")
+        void shouldReserveNothingWhenOneLineShort() {
+            Sku other = Sku.builder().id(2L).skuCode("IPHONE15-256-WHT").quantity(5).reservedQuantity(5).build();
+            BatchReservationRequest request = BatchReservationRequest.builder()
+                    .cartId("cart-1")
+                    .items(List.of(new StockLineRequest("IPHONE15-128-BLK", 2), new StockLineRequest("IPHONE15-256-WHT", 1)))
+                    .build();
+            when(skuRepository.findAllBySkuCodeForUpdate(anyCollection())).thenReturn(List.of(sku, other));
+
+            assertThatThrownBy(() -> reservationService.reserveBatch(request))
+                    .isInstanceOf(InsufficientStockException.class);
+            assertThat(sku.getReservedQuantity()).isZero();
+            verify(reservationRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Confirm And Release Tests")
+    class ConfirmAndReleaseTests {
+
+        @Test
+        @DisplayName("Should confirm an active reservation")
+        void shouldConfirmActiveReservation() {
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.CONFIRMED), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.commitReservedQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+
+            reservationService.confirm(1L);
+
+            assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+            verify(reservationMapper).toDto(reservation);
+        }
+
+        @Test
+        @DisplayName("Should reject confirming a reservation that is no longer active")
+        void shouldRejectConfirmingInactiveReservation() {
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.CONFIRMED), any(LocalDateTime.class))).thenReturn(0);
+
+            assertThatThrownBy(() -> reservationService.confirm(1L))
+                    .isInstanceOf(InvalidOperationException.class);
+            verify(skuRepository, never()).commitReservedQuantity(any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Should release an active reservation")
+        void shouldReleaseActiveReservation() {
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.RELEASED), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.releaseReservedQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+
+            reservationService.release(1L);
+
+            assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when reservation not found")
+        void shouldThrowExceptionWhenReservationNotFound() {
+            when(reservationRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> reservationService.release(999L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should expire overdue reservations found on startup")
+        void shouldExpireOverdueReservations() throws InterruptedException {
+            reservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+            when(reservationRepository.findByStatus(ReservationStatus.ACTIVE)).thenReturn(List.of(reservation));
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.EXPIRED), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.releaseReservedQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+
+            reservationService.scheduleActiveReservations();
+            Thread.sleep(5);
+            reservationService.expireReservations();
+
+            verify(skuRepository).releaseReservedQuantity(eq(1L), eq(2), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should not expire reservations released before their deadline")
+        void shouldNotExpireReleasedReservations() throws InterruptedException {
+            reservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+            when(reservationRepository.findByStatus(ReservationStatus.ACTIVE)).thenReturn(List.of(reservation));
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.RELEASED), any(LocalDateTime.class))).thenReturn(1);
+            when(skuRepository.releaseReservedQuantity(eq(1L), eq(2), any(LocalDateTime.class))).thenReturn(1);
+
+            reservationService.scheduleActiveReservations();
+            reservationService.release(1L);
+            Thread.sleep(5);
+            reservationService.expireReservations();
+
+            verify(reservationRepository, never()).transitionStatus(eq(1L), eq(ReservationStatus.ACTIVE),
+                    eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        }
+    }
+}
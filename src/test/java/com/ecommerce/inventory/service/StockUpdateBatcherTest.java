@@ -0,0 +1,95 @@
+package com.ecommerce.inventory.service;
+
+import com.ecommerce.inventory.dto.StockLevelDto;
+import com.ecommerce.inventory.exception.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockUpdateBatcherTest {
+
+    @Mock
+    private SkuService skuService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockUpdateBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batcher = new StockUpdateBatcher(skuService, meterRegistry, true, 50, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should merge adjustments in one window into a single update")
+    void shouldMergeAdjustmentsIntoSingleUpdate() {
+        when(skuService.adjustStock(1L, 1L, -2)).thenReturn(Optional.of(98));
+
+        CompletableFuture<Integer> first = batcher.submit(1L, 1L, -3);
+        CompletableFuture<Integer> second = batcher.submit(1L, 1L, 5);
+        CompletableFuture<Integer> third = batcher.submit(1L, 1L, -4);
+
+        // Increments are applied first: 100 -> +5 = 105 -> -3 = 102 -> -4 = 98
+        assertThat(third.join()).isEqualTo(98);
+        assertThat(first.join()).isEqualTo(102);
+        assertThat(second.join()).isEqualTo(105);
+        verify(skuService, times(1)).adjustStock(anyLong(), anyLong(), anyInt());
+        assertThat(meterRegistry.summary("inventory.stock.batch.size").max()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should fall back to individual updates when the merged update would oversell")
+    void shouldFallBackToIndividualUpdates() {
+        when(skuService.adjustStock(1L, 1L, -7)).thenReturn(Optional.empty());
+        when(skuService.decrementStock(1L, 1L, 3)).thenReturn(StockLevelDto.builder().skuId(1L).quantity(2).build());
+        when(skuService.decrementStock(1L, 1L, 4)).thenThrow(new InsufficientStockException(1L, 4, 2));
+
+        CompletableFuture<Integer> first = batcher.submit(1L, 1L, -3);
+        CompletableFuture<Integer> second = batcher.submit(1L, 1L, -4);
+
+        assertThat(first.join()).isEqualTo(2);
+        assertThatThrownBy(second::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InsufficientStockException.class);
+        assertThat(meterRegistry.counter("inventory.stock.batch.fallbacks").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply a lone adjustment directly")
+    void shouldApplyLoneAdjustmentDirectly() {
+        when(skuService.incrementStock(1L, 1L, 5)).thenReturn(StockLevelDto.builder().skuId(1L).quantity(105).build());
+
+        assertThat(batcher.submit(1L, 1L, 5).join()).isEqualTo(105);
+        verify(skuService, never()).adjustStock(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject submissions when batching is disabled")
+    void shouldRejectSubmissionsWhenDisabled() {
+        StockUpdateBatcher disabled = new StockUpdateBatcher(skuService, meterRegistry, false, 2, 1);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThatThrownBy(() -> disabled.submit(1L, 1L, 1)).isInstanceOf(IllegalStateException.class);
+    }
+}